@@ -0,0 +1,102 @@
+// Carga de leitura com JDBC em toda requisiçao: busca de chaves por agencia/conta e resoluçao de chave.
+// Cada VU mantem uma conexao keep-alive, entao VUS = conexoes concorrentes.
+//   k6 run -e MODE=platform -e VUS=1000 loadtest/pix-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const VUS = parseInt(__ENV.VUS || '1000');
+const ACCOUNTS = parseInt(__ENV.ACCOUNTS || '200');
+const AGENCY = 4321;
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        load: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '2m',
+            gracefulStop: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+function digit(numbers) {
+    let sum = 0;
+    for (let i = 0; i < numbers.length; i++) {
+        sum += numbers[i] * (numbers.length + 1 - i);
+    }
+    const rest = sum % 11;
+    return rest < 2 ? 0 : 11 - rest;
+}
+
+// cpf valido e deterministico por indice, para a massa ser a mesma entre as execuçoes
+function cpf(index) {
+    const base = String(100000000 + index * 7919).slice(-9).split('').map(Number);
+    base.push(digit(base));
+    base.push(digit(base));
+    return base.join('');
+}
+
+// Cria (ou reaproveita, se ja existirem) usuarios, contas e uma chave email por conta
+export function setup() {
+    const accounts = [];
+    for (let i = 0; i < ACCOUNTS; i++) {
+        const identification = cpf(i);
+        const accountNumber = 10000000 + i;
+        const email = `carga${i}@teste.com`;
+        http.post(`${BASE_URL}/api/user`, JSON.stringify({
+            personType: 'fisica',
+            userName: 'Carga',
+            userLastName: `Teste ${i}`,
+            identification: identification,
+            phone: `+55119${String(10000000 + i)}`,
+            email: email,
+        }), JSON_HEADERS);
+        http.post(`${BASE_URL}/api/account`, JSON.stringify({
+            accountType: 'corrente',
+            agencyNumber: AGENCY,
+            accountNumber: accountNumber,
+            identification: identification,
+        }), JSON_HEADERS);
+        http.post(`${BASE_URL}/api/pix`, JSON.stringify({
+            keyType: 'email',
+            keyValue: email,
+            agencyNumber: AGENCY,
+            accountNumber: accountNumber,
+        }), JSON_HEADERS);
+        accounts.push({ accountNumber, email });
+    }
+    return { accounts };
+}
+
+export default function (data) {
+    const account = data.accounts[Math.floor(Math.random() * data.accounts.length)];
+    const response = Math.random() < 0.7
+        ? http.get(`${BASE_URL}/api/pix/by-agency-and-account?agencyNumber=${AGENCY}&accountNumber=${account.accountNumber}`,
+            { tags: { name: 'by-agency-and-account' } })
+        : http.get(`${BASE_URL}/api/pix/resolve?value=${encodeURIComponent(account.email)}`,
+            { tags: { name: 'resolve' } });
+    check(response, { 'status 200': r => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const duration = data.metrics.http_req_duration.values;
+    const line = [
+        MODE,
+        VUS,
+        data.metrics.http_reqs.values.rate.toFixed(1),
+        duration['p(50)'].toFixed(1),
+        duration['p(99)'].toFixed(1),
+        (data.metrics.http_req_failed.values.rate * 100).toFixed(2),
+    ].join('\t');
+    return {
+        stdout: line + '\n',
+        [`loadtest/results/${MODE}-${VUS}.tsv`]: line + '\n',
+        [`loadtest/results/${MODE}-${VUS}.json`]: JSON.stringify(data, null, 2),
+    };
+}
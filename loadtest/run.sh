@@ -0,0 +1,23 @@
+#!/usr/bin/env sh
+# Roda a carga de 1k a 10k conexoes contra a aplicaçao ja iniciada e acumula o resumo em loadtest/results/summary.tsv
+#   modo padrao:         mvn spring-boot:run                       e  ./loadtest/run.sh platform
+#   threads virtuais:    mvn -Pvirtual-threads spring-boot:run     e  ./loadtest/run.sh virtual
+# 10k conexoes precisam de ulimit -n acima disso no k6 e na JVM.
+set -e
+
+MODE=${1:?uso: run.sh platform|virtual}
+LEVELS=${LEVELS:-"1000 2500 5000 10000"}
+DURATION=${DURATION:-2m}
+RESULTS=loadtest/results
+
+mkdir -p "$RESULTS"
+[ -f "$RESULTS/summary.tsv" ] || printf 'mode\tconnections\treq/s\tp50 ms\tp99 ms\terrors %%\n' > "$RESULTS/summary.tsv"
+
+for VUS in $LEVELS; do
+    k6 run --quiet -e MODE="$MODE" -e VUS="$VUS" -e DURATION="$DURATION" loadtest/pix-load.js
+    cat "$RESULTS/$MODE-$VUS.tsv" >> "$RESULTS/summary.tsv"
+    # deixa o pool de conexoes e o GC assentarem entre os niveis
+    sleep 15
+done
+
+column -t -s "$(printf '\t')" "$RESULTS/summary.tsv"
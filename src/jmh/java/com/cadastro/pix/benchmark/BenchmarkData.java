@@ -0,0 +1,84 @@
+package com.cadastro.pix.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.id.UuidV7Generator;
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados dos benchmarks, montada em memoria sem banco.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // Fora do Spring o logback sobe em DEBUG no console; nos benchmarks so interessa o custo do codigo
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    static User user(int index) {
+        User user = new User();
+        user.setId(UuidV7Generator.next());
+        user.setPersonType("fisica");
+        user.setUserName("Usuario " + index);
+        user.setUserLastName("Sobrenome " + index);
+        user.setIdentification("48428781850");
+        user.setPhone("+5511998765432");
+        user.setEmail("usuario" + index + "@teste.com");
+        user.setActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    static Account account(User user, int index) {
+        Account account = new Account();
+        account.setId(UuidV7Generator.next());
+        account.setAccountType("corrente");
+        account.setAgencyNumber(1234);
+        account.setAccountNumber(10000000 + index);
+        account.setUser(user);
+        account.setActive(true);
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+
+    static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    // Cinco chaves por conta, como uma pessoa fisica no limite
+    static List<PixKey> pixKeys(int size) {
+        List<PixKey> pixKeys = new ArrayList<>(size);
+        Account account = null;
+        for (int i = 0; i < size; i++) {
+            if (i % 5 == 0) {
+                account = account(user(i), i);
+            }
+            PixKey pixKey = new PixKey();
+            pixKey.setId(UuidV7Generator.next());
+            pixKey.setKeyType("email");
+            pixKey.setKeyValue("chave" + i + "@teste.com");
+            pixKey.setAccount(account);
+            pixKey.setActive(true);
+            pixKey.setCreatedAt(LocalDateTime.now());
+            pixKey.setUpdatedAt(LocalDateTime.now());
+            pixKeys.add(pixKey);
+        }
+        return pixKeys;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
+import com.cadastro.pix.dto.user.UserListDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversao das entidades carregadas nos DTOs de lista devolvidos pelos endpoints de busca.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int size;
+
+    private List<User> users;
+    private List<PixKey> pixKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = BenchmarkData.users(size);
+        pixKeys = BenchmarkData.pixKeys(size);
+    }
+
+    @Benchmark
+    public UserListDTO fromUsers() {
+        return UserListDTO.fromUsers(users);
+    }
+
+    @Benchmark
+    public PixKeyListWithAccountAndUserDTO fromPixKeys() {
+        return PixKeyListWithAccountAndUserDTO.fromPixKeys(pixKeys);
+    }
+}
@@ -0,0 +1,119 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.utils.FormatChecks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Custo por chamada das checagens de formato do Validate: "legacy" reproduz a implementaçao antiga
+ * (Pattern.compile/String.matches a cada chamada e Long.parseLong), "scan" usa o FormatChecks.
+ * Rodar com -prof gc para ver a alocaçao por operaçao:
+ * -Djmh.args="FormatChecksBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatChecksBenchmark {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+
+    public String phone = "+5511998765432";
+    public String email = "joao.silva@teste.com";
+    public String cpf = "48428781850";
+    public String cnpj = "06947283000160";
+    public String randomKey = "123e4567-e89b-42d3-a456-556642440000";
+    public String nonNumeric = "4842878185a";
+
+    @Benchmark
+    public boolean phoneLegacy() {
+        return phone.matches("^\\+\\d{1,2}\\d{1,3}\\d{9}$");
+    }
+
+    @Benchmark
+    public boolean phoneScan() {
+        return FormatChecks.isPhone(phone);
+    }
+
+    @Benchmark
+    public boolean emailLegacy() {
+        return Pattern.compile(EMAIL_REGEX).matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailScan() {
+        return FormatChecks.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean randomKeyLegacy() {
+        return randomKey.matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[4][0-9a-fA-F]{3}-[89aAbB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$");
+    }
+
+    @Benchmark
+    public boolean randomKeyScan() {
+        return FormatChecks.isRandomKey(randomKey);
+    }
+
+    @Benchmark
+    public void cpfLegacy(Blackhole blackhole) {
+        blackhole.consume(cpf.matches("(\\d)\\1{10}"));
+        blackhole.consume(Long.parseLong(cpf));
+        int[] digits = new int[11];
+        for (int i = 0; i < 11; i++) {
+            digits[i] = cpf.charAt(i) - '0';
+        }
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += digits[i] * (10 - i);
+        }
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public boolean cpfScan() {
+        return !FormatChecks.isRepeatedDigit(cpf) && FormatChecks.isDigits(cpf) && FormatChecks.hasValidCpfCheckDigits(cpf);
+    }
+
+    @Benchmark
+    public void cnpjLegacy(Blackhole blackhole) {
+        blackhole.consume(cnpj.matches("(\\d)\\1{13}"));
+        blackhole.consume(Long.parseLong(cnpj));
+        int[] digits = new int[14];
+        for (int i = 0; i < 14; i++) {
+            digits[i] = cnpj.charAt(i) - '0';
+        }
+        int[] weights1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += digits[i] * weights1[i];
+        }
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public boolean cnpjScan() {
+        return !FormatChecks.isRepeatedDigit(cnpj) && FormatChecks.isDigits(cnpj) && FormatChecks.hasValidCnpjCheckDigits(cnpj);
+    }
+
+    // Caminho de falha antigo do isNumeric: excecao com stack trace a cada chamada
+    @Benchmark
+    public boolean nonNumericLegacy() {
+        try {
+            Long.parseLong(nonNumeric);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean nonNumericScan() {
+        return FormatChecks.isDigits(nonNumeric);
+    }
+}
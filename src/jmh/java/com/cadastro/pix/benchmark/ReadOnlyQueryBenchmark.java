@@ -0,0 +1,101 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.PixApplication;
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem de chaves com conta e usuario (como findAllPixKeys/findPixKeysByType) numa transaçao
+ * read-write, com snapshot de cada entidade e dirty checking no commit, e numa transaçao read-only
+ * com HINT_READ_ONLY. Roda no H2 em memoria do perfil de teste; com -prof gc aparece a alocaçao por listagem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadOnlyQueryBenchmark {
+
+    private static final String QUERY = "SELECT p FROM PixKey p JOIN FETCH p.account a JOIN FETCH a.user";
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"readWrite", "readOnly"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private boolean readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PixApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:readonly" + size + mode
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")
+                .run();
+        BenchmarkData.quietLogging();
+
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = "readOnly".equals(mode);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PixKeyListWithAccountAndUserDTO findPixKeys() {
+        return transactionTemplate.execute(status -> {
+            List<PixKey> pixKeys = entityManager.createQuery(QUERY, PixKey.class)
+                    .setHint(HibernateHints.HINT_READ_ONLY, readOnly)
+                    .getResultList();
+            return PixKeyListWithAccountAndUserDTO.fromPixKeys(pixKeys);
+        });
+    }
+
+    private void seed() {
+        List<PixKey> pixKeys = BenchmarkData.pixKeys(size);
+        Set<Account> accounts = new LinkedHashSet<>();
+        for (PixKey pixKey : pixKeys) {
+            pixKey.setId(null);
+            accounts.add(pixKey.getAccount());
+        }
+
+        TransactionTemplate seedTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        seedTemplate.executeWithoutResult(status -> {
+            for (Account account : accounts) {
+                User user = account.getUser();
+                user.setId(null);
+                entityManager.persist(user);
+                account.setId(null);
+                entityManager.persist(account);
+            }
+            pixKeys.forEach(entityManager::persist);
+        });
+    }
+}
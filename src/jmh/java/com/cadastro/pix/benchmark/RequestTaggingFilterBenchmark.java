@@ -0,0 +1,66 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.logging.RandomUuidRequestIdGenerator;
+import com.cadastro.pix.logging.RequestIdGenerator;
+import com.cadastro.pix.logging.RequestTaggingFilter;
+import com.cadastro.pix.logging.SequenceRequestIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do RequestTaggingFilter por requisiçao com 64 threads simultaneas, como um pool de servlet cheio.
+ * "uuid" e o UUID.randomUUID() anterior; "sequence" o gerador padrao. "header" mede o caminho em que o
+ * gateway ja manda X-Request-Id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class RequestTaggingFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"uuid", "sequence", "sequence-virtual", "header"})
+    public String generator;
+
+    private RequestTaggingFilter filter;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp(RequestTaggingFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/pix/1");
+            if ("header".equals(benchmark.generator)) {
+                request.addHeader(RequestTaggingFilter.REQUEST_ID_HEADER, "0f8fad5b-d9cb-469f-a165-70867728950e");
+            }
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        RequestIdGenerator idGenerator = "uuid".equals(generator)
+                ? new RandomUuidRequestIdGenerator()
+                : new SequenceRequestIdGenerator("", "sequence-virtual".equals(generator));
+        filter = new RequestTaggingFilter(idGenerator);
+    }
+
+    @Benchmark
+    public Object doFilter(Exchange exchange) throws IOException, ServletException {
+        filter.doFilter(exchange.request, exchange.response, NO_OP_CHAIN);
+        return exchange.response.getHeader(RequestTaggingFilter.REQUEST_ID_HEADER);
+    }
+}
@@ -0,0 +1,114 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.dto.account.SimpleAccountListWithUserDTO;
+import com.cadastro.pix.dto.account.SimpleAccountWithPixDTO;
+import com.cadastro.pix.dto.account.SimpleAccountWithUserDTO;
+import com.cadastro.pix.dto.onboarding.OnboardingJobDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchResultDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.dto.user.UserDTO;
+import com.cadastro.pix.dto.user.UserListDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do RespDTOSerializer numa resposta de entidade unica, como GET /api/pix/{id} e GET /api/user/{id}.
+ * "legacy" usa a cadeia de instanceof + writeObjectField anterior (aplicada por mixin), "registry" o serializer atual.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RespDTODispatchBenchmark {
+
+    @Param({"legacy", "registry"})
+    public String serializer;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private ObjectMapper objectMapper;
+    private RespDTO pixKey;
+    private RespDTO user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("legacy".equals(serializer)) {
+            builder.mixIn(RespDTO.class, LegacyMixin.class);
+        }
+        objectMapper = builder.build().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        pixKey = new RespDTO(HttpStatus.OK, new PixKeyWithAccountDTO(BenchmarkData.pixKeys(1).get(0)));
+        user = new RespDTO(HttpStatus.OK, new UserDTO(BenchmarkData.user(0)));
+    }
+
+    @Benchmark
+    public void pixKey() throws IOException {
+        objectMapper.writeValue(out, pixKey);
+    }
+
+    @Benchmark
+    public void user() throws IOException {
+        objectMapper.writeValue(out, user);
+    }
+
+    @JsonSerialize(using = LegacyRespDTOSerializer.class)
+    abstract static class LegacyMixin {
+    }
+
+    public static class LegacyRespDTOSerializer extends JsonSerializer<RespDTO> {
+
+        @Override
+        public void serialize(RespDTO respDTO, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("httpStatus", respDTO.getHttpStatus().toString());
+
+            if (respDTO.getMessage() != null) {
+                gen.writeStringField("message", respDTO.getMessage());
+            } else if (respDTO.getData() != null) {
+                if (respDTO.getData() instanceof UserListDTO) {
+                    gen.writeObjectField("data", respDTO.getData());
+                } else if (respDTO.getData() instanceof PixKeyListWithAccountAndUserDTO) {
+                    gen.writeObjectField("data", respDTO.getData());
+                } else if (respDTO.getData() instanceof SimpleAccountListWithUserDTO) {
+                    gen.writeObjectField("data", respDTO.getData());
+                } else if (respDTO.getData() instanceof PixKeyBatchResultDTO) {
+                    gen.writeObjectField("data", respDTO.getData());
+                } else {
+                    gen.writeObjectFieldStart("data");
+                    if (respDTO.getData() instanceof UserDTO) {
+                        gen.writeObjectField("user", respDTO.getData());
+                    } else if (respDTO.getData() instanceof SimpleAccountWithPixDTO) {
+                        gen.writeObjectField("account", respDTO.getData());
+                    } else if (respDTO.getData() instanceof SimpleAccountWithUserDTO) {
+                        gen.writeObjectField("account", respDTO.getData());
+                    } else if (respDTO.getData() instanceof PixKeyDTO) {
+                        gen.writeObjectField("pixKey", respDTO.getData());
+                    } else if (respDTO.getData() instanceof PixKeyWithAccountDTO) {
+                        gen.writeObjectField("pixKey", respDTO.getData());
+                    } else if (respDTO.getData() instanceof OnboardingJobDTO) {
+                        gen.writeObjectField("job", respDTO.getData());
+                    }
+                    gen.writeEndObject();
+                }
+            }
+
+            gen.writeEndObject();
+        }
+    }
+}
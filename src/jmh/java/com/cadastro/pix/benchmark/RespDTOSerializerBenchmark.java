@@ -0,0 +1,54 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.dto.user.UserListDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saida JSON do RespDTOSerializer para respostas com 1, 1k e 100k elementos.
+ * O ObjectMapper tem a mesma configuraçao padrao do Spring Boot e escreve num stream descartavel,
+ * para medir so a serializaçao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RespDTOSerializerBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private RespDTO pixKeys;
+    private RespDTO users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pixKeys = new RespDTO(HttpStatus.OK, PixKeyListWithAccountAndUserDTO.fromPixKeys(BenchmarkData.pixKeys(size)));
+        users = new RespDTO(HttpStatus.OK, UserListDTO.fromUsers(BenchmarkData.users(size)));
+    }
+
+    @Benchmark
+    public void pixKeyList() throws IOException {
+        objectMapper.writeValue(out, pixKeys);
+    }
+
+    @Benchmark
+    public void userList() throws IOException {
+        objectMapper.writeValue(out, users);
+    }
+}
@@ -0,0 +1,93 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.domain.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taxa de insert numa tabela com chave primaria BINARY(16), comparando UUID aleatorio (v4)
+ * com UUID ordenado por tempo (v7), com a tabela ja grande (preloadRows).
+ *
+ * Roda contra o MySQL local por padrao; para outro banco:
+ * -Djmh.args="UuidInsertBenchmark -jvmArgs -Dpix.benchmark.jdbc-url=... -p preloadRows=5000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"random", "v7"})
+    public String idType;
+
+    @Param({"1000000"})
+    public int preloadRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("pix.benchmark.jdbc-url", "jdbc:mysql://localhost:3306/pixdb?rewriteBatchedStatements=true"),
+                System.getProperty("pix.benchmark.jdbc-user", "user"),
+                System.getProperty("pix.benchmark.jdbc-password", "password"));
+        connection.setAutoCommit(false);
+
+        table = "uuid_insert_benchmark_" + idType;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id BINARY(16) NOT NULL PRIMARY KEY, key_value VARCHAR(77) NOT NULL)");
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, key_value) VALUES (?, ?)");
+        for (int loaded = 0; loaded < preloadRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            UUID id = "v7".equals(idType) ? UuidV7Generator.next() : UUID.randomUUID();
+            insert.setBytes(1, toBytes(id));
+            insert.setString(2, id + "@teste.com");
+            insert.addBatch();
+        }
+        int[] inserted = insert.executeBatch();
+        connection.commit();
+        return inserted.length;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,99 @@
+package com.cadastro.pix.benchmark;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.utils.Validate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regras de formato do Validate que rodam em todo cadastro de usuario, conta e chave (sem as consultas ao banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateBenchmark {
+
+    private final Validate validate = new Validate();
+
+    private User individual;
+    private User legal;
+    private Account individualAccount;
+    private Account legalAccount;
+    private PixKey phoneKey;
+    private PixKey emailKey;
+    private PixKey cpfKey;
+    private PixKey cnpjKey;
+    private PixKey randomKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+
+        individual = BenchmarkData.user(0);
+        individualAccount = BenchmarkData.account(individual, 0);
+
+        legal = BenchmarkData.user(1);
+        legal.setPersonType("juridica");
+        legal.setIdentification("06947283000160");
+        legalAccount = BenchmarkData.account(legal, 1);
+
+        phoneKey = pixKey("celular", "+5511998765432");
+        emailKey = pixKey("email", "joao.silva@teste.com");
+        cpfKey = pixKey("cpf", individual.getIdentification());
+        cnpjKey = pixKey("cnpj", legal.getIdentification());
+        randomKey = pixKey("aleatorio", "123e4567-e89b-42d3-a456-556642440000");
+    }
+
+    private static PixKey pixKey(String keyType, String keyValue) {
+        PixKey pixKey = new PixKey();
+        pixKey.setKeyType(keyType);
+        pixKey.setKeyValue(keyValue);
+        return pixKey;
+    }
+
+    @Benchmark
+    public void individualUser() {
+        validate.validateUser(individual);
+    }
+
+    @Benchmark
+    public void legalUser() {
+        validate.validateUser(legal);
+    }
+
+    @Benchmark
+    public void account() {
+        validate.validateAccount(individualAccount);
+    }
+
+    @Benchmark
+    public void phoneKey() {
+        validate.validatePixKey(phoneKey, individualAccount, individual);
+    }
+
+    @Benchmark
+    public void emailKey() {
+        validate.validatePixKey(emailKey, individualAccount, individual);
+    }
+
+    @Benchmark
+    public void cpfKey() {
+        validate.validatePixKey(cpfKey, individualAccount, individual);
+    }
+
+    @Benchmark
+    public void cnpjKey() {
+        validate.validatePixKey(cnpjKey, legalAccount, legal);
+    }
+
+    @Benchmark
+    public void randomKey() {
+        validate.validatePixKey(randomKey, individualAccount, individual);
+    }
+}
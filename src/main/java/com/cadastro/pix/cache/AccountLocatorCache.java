@@ -0,0 +1,309 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Cache em memoria do localizador (agencia, conta) -> conta, usado no cadastro de chave Pix
+ * e na checagem de conta ja existente.
+ *
+ * O par e empacotado num long ({@link #pack}) e guardado numa tabela de endereçamento aberto
+ * (sondagem linear, remoçao por deslocamento), sem boxing da chave. Leituras sao otimistas
+ * (StampedLock) e so pegam o lock de leitura se uma escrita concorrente invalidar a tentativa.
+ *
+ * Criaçao de conta popula o cache depois do commit; alteraçao, desativaçao e alteraçao do usuario
+ * invalidam. O TTL e a rede de segurança para alteraçoes feitas por outros nos.
+ */
+@Component
+public class AccountLocatorCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLocatorCache.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StampedLock lock = new StampedLock();
+    private final long maxSize;
+    private final long ttlNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    /** O que o cadastro de chave precisa da conta e do titular, sem carregar as entidades. */
+    public record AccountLocation(UUID accountId, UUID userId, boolean active, String personType, String identification) {
+
+        public static AccountLocation of(Account account) {
+            User user = account.getUser();
+            return new AccountLocation(account.getId(), user.getId(), account.isActive(), user.getPersonType(), user.getIdentification());
+        }
+
+        public boolean isIndividualPerson() {
+            return "fisica".equalsIgnoreCase(personType);
+        }
+
+        public boolean isLegalPerson() {
+            return "juridica".equalsIgnoreCase(personType);
+        }
+    }
+
+    public AccountLocatorCache(MeterRegistry meterRegistry,
+                               @Value("${pix.account-locator.max-size:1000000}") long maxSize,
+                               @Value("${pix.account-locator.ttl:10m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder("pix.account.locator.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pix.account.locator.lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("pix.account.locator.entries", this, AccountLocatorCache::size)
+                .register(meterRegistry);
+
+        logger.info("Account locator cache created. Max size: {}, ttl: {}", maxSize, ttl);
+    }
+
+    // agencia e conta sao sempre >= 1, entao nenhum par empacotado vale 0 (o marcador de slot livre)
+    public static long pack(int agencyNumber, int accountNumber) {
+        return ((long) agencyNumber << 32) | (accountNumber & 0xFFFFFFFFL);
+    }
+
+    public AccountLocation get(Integer agencyNumber, Integer accountNumber) {
+        if (agencyNumber == null || accountNumber == null) {
+            return null;
+        }
+        long key = pack(agencyNumber, accountNumber);
+
+        long stamp = lock.tryOptimisticRead();
+        AccountLocation location = table.find(key, System.nanoTime());
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                location = table.find(key, System.nanoTime());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        (location == null ? misses : hits).increment();
+        return location;
+    }
+
+    public AccountLocation put(Account account) {
+        AccountLocation location = AccountLocation.of(account);
+        put(pack(account.getAgencyNumber(), account.getAccountNumber()), location);
+        return location;
+    }
+
+    // Conta recem criada: so entra no cache se a transaçao commitar
+    public void putAfterCommit(Account account) {
+        AccountLocation location = AccountLocation.of(account);
+        long key = pack(account.getAgencyNumber(), account.getAccountNumber());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(key, location);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(key, location);
+            }
+        });
+    }
+
+    public void invalidate(Integer agencyNumber, Integer accountNumber) {
+        if (agencyNumber == null || accountNumber == null) {
+            return;
+        }
+        long key = pack(agencyNumber, accountNumber);
+        remove(key);
+        afterCommit(() -> remove(key));
+    }
+
+    public void invalidateUser(UUID userId) {
+        removeUser(userId);
+        afterCommit(() -> removeUser(userId));
+    }
+
+    public long size() {
+        return table.size;
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void put(long key, AccountLocation location) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            if (current.size >= maxSize && current.indexOf(key) < 0) {
+                logger.info("Account locator cache reached {} entries, clearing it", current.size);
+                current = new Table(INITIAL_CAPACITY);
+            } else if ((current.size + 1) * 2L > current.keys.length) {
+                current = current.resize();
+            }
+            current.put(key, location, System.nanoTime() + ttlNanos);
+            table = current;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void remove(long key) {
+        long stamp = lock.writeLock();
+        try {
+            int index = table.indexOf(key);
+            if (index >= 0) {
+                table.delete(index);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void removeUser(UUID userId) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int index = 0;
+            while (index < current.keys.length) {
+                // a remoçao desloca o proximo elemento para este slot, entao o slot e reavaliado
+                AccountLocation location = current.values[index];
+                if (location != null && userId.equals(location.userId())) {
+                    current.delete(index);
+                } else {
+                    index++;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Uma leitura concorrente pode recolocar o valor antigo antes do commit; invalida de novo depois dele
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Tabela de sondagem linear; capacidade potencia de 2 e ocupaçao maxima de 50%. Escritas so com o write lock. */
+    private static final class Table {
+
+        private final long[] keys;
+        private final AccountLocation[] values;
+        private final long[] expiresAt;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new AccountLocation[capacity];
+            this.expiresAt = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        // Chamado tambem sem lock (leitura otimista): o laço e limitado pela capacidade
+        private AccountLocation find(long key, long now) {
+            int index = slot(key);
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys[index];
+                if (current == 0) {
+                    return null;
+                }
+                if (current == key) {
+                    AccountLocation location = values[index];
+                    return expiresAt[index] - now > 0 ? location : null;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private int indexOf(long key) {
+            int index = slot(key);
+            while (keys[index] != 0) {
+                if (keys[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void put(long key, AccountLocation location, long expiresAtNanos) {
+            int index = slot(key);
+            while (keys[index] != 0 && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == 0) {
+                size++;
+            }
+            values[index] = location;
+            expiresAt[index] = expiresAtNanos;
+            keys[index] = key;
+        }
+
+        // Remoçao por deslocamento: puxa para o buraco os elementos seguintes cuja sondagem passa por ele
+        private void delete(int index) {
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (keys[next] != 0) {
+                int home = slot(keys[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    expiresAt[hole] = expiresAt[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = 0;
+            values[hole] = null;
+            expiresAt[hole] = 0;
+            size--;
+        }
+
+        private Table resize() {
+            Table resized = new Table(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    resized.put(keys[i], values[i], expiresAt[i]);
+                }
+            }
+            return resized;
+        }
+    }
+}
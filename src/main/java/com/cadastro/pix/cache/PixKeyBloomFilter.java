@@ -0,0 +1,168 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.repository.PixKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter dos valores de chaves Pix ativas, usado antes do existsByKeyValueAndActive.
+ * Um "nao contem" e definitivo e dispensa a consulta; um "talvez" sempre vai ao banco.
+ *
+ * Chaves inativadas continuam marcadas ate o proximo rebuild (so geram falso positivo).
+ * Enquanto o filtro nao foi carregado, toda consulta responde "talvez".
+ */
+@Component
+public class PixKeyBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixKeyBloomFilter.class);
+
+    private final PixKeyRepository pixKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration catchUpWindow;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong staleEntries = new AtomicLong();
+
+    private final Counter definiteMisses;
+    private final Counter possibleHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter rebuilding;
+
+    public PixKeyBloomFilter(PixKeyRepository pixKeyRepository,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${pix.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${pix.bloom-filter.fpp:0.01}") double falsePositiveProbability,
+                             @Value("${pix.bloom-filter.catch-up-window:5m}") Duration catchUpWindow) {
+        this.pixKeyRepository = pixKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.catchUpWindow = catchUpWindow;
+
+        this.definiteMisses = Counter.builder("pix.key.bloom.checks")
+                .tag("result", "miss")
+                .description("Checks answered by the bloom filter without querying the database")
+                .register(meterRegistry);
+        this.possibleHits = Counter.builder("pix.key.bloom.checks")
+                .tag("result", "possible")
+                .description("Checks forwarded to the database")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("pix.key.bloom.false.positives")
+                .description("Possible hits the database reported as absent")
+                .register(meterRegistry);
+
+        Gauge.builder("pix.key.bloom.fpp.expected", this, filter -> filter.current == null ? 1.0 : filter.current.expectedFalsePositiveProbability())
+                .description("Expected false positive probability for the current load")
+                .register(meterRegistry);
+        Gauge.builder("pix.key.bloom.fpp.observed", this, PixKeyBloomFilter::observedFalsePositiveRate)
+                .description("False positives over checks that reached the database for an absent key")
+                .register(meterRegistry);
+        Gauge.builder("pix.key.bloom.memory", this, filter -> filter.current == null ? 0 : filter.current.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("pix.key.bloom.entries", this, filter -> filter.current == null ? 0 : filter.current.insertions())
+                .register(meterRegistry);
+        Gauge.builder("pix.key.bloom.stale.entries", staleEntries, AtomicLong::get)
+                .description("Keys deactivated since the last rebuild")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public boolean mightContain(String keyValue) {
+        BloomFilter filter = current;
+        if (filter != null && !filter.mightContain(keyValue)) {
+            definiteMisses.increment();
+            return false;
+        }
+        possibleHits.increment();
+        return true;
+    }
+
+    public void put(String keyValue) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(keyValue);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(keyValue);
+        }
+    }
+
+    public void markDeactivated(String keyValue) {
+        staleEntries.incrementAndGet();
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${pix.bloom-filter.rebuild-interval:PT1H}", initialDelayString = "${pix.bloom-filter.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            logger.info("PixKey bloom filter rebuild already running, skipping");
+            return;
+        }
+
+        try {
+            long startedAt = System.nanoTime();
+            LocalDateTime since = LocalDateTime.now().minus(catchUpWindow);
+
+            long activeKeys = pixKeyRepository.countByActive(true);
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, activeKeys * 2), falsePositiveProbability);
+            rebuilding = next;
+            staleEntries.set(0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> keyValues = pixKeyRepository.streamActiveKeyValues()) {
+                    keyValues.forEach(next::put);
+                }
+            });
+            // Chaves gravadas por transaçoes que ainda nao tinham commitado quando a leitura começou
+            pixKeyRepository.findActiveKeyValuesCreatedSince(since).forEach(next::put);
+
+            current = next;
+            rebuilding = null;
+            logger.info("PixKey bloom filter rebuilt. Entries: {}, bits: {}, hashes: {}, took {} ms",
+                    next.insertions(), next.bitSize(), next.hashFunctions(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            rebuilding = null;
+            logger.error("Failed to rebuild PixKey bloom filter, keeping the previous one", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double checks = falsePositives.count() + definiteMisses.count();
+        return checks == 0 ? 0 : falsePositives.count() / checks;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache em memoria da resoluçao valor da chave -> conta e usuario.
+ * Limitado por quantidade de entradas (eviction por tamanho) e com TTL como rede de segurança
+ * para alteraçoes feitas por outros nos.
+ */
+@Component
+public class PixKeyResolutionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixKeyResolutionCache.class);
+
+    private final Cache<String, PixKeyWithAccountDTO> cache;
+
+    public PixKeyResolutionCache(@Value("${pix.resolve-cache.max-size:100000}") long maxSize,
+                                 @Value("${pix.resolve-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        logger.info("PixKey resolution cache created. Max size: {}, ttl: {}", maxSize, ttl);
+    }
+
+    public PixKeyWithAccountDTO get(String keyValue) {
+        return cache.getIfPresent(keyValue);
+    }
+
+    public void put(String keyValue, PixKeyWithAccountDTO pixKey) {
+        cache.put(keyValue, pixKey);
+    }
+
+    public void invalidate(String keyValue) {
+        cache.invalidate(keyValue);
+        afterCommit(() -> cache.invalidate(keyValue));
+    }
+
+    public void invalidateAccount(UUID accountId) {
+        removeIf(accountId, true);
+        afterCommit(() -> removeIf(accountId, true));
+    }
+
+    public void invalidateUser(UUID userId) {
+        removeIf(userId, false);
+        afterCommit(() -> removeIf(userId, false));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void removeIf(UUID id, boolean byAccount) {
+        cache.asMap().values().removeIf(pixKey -> {
+            if (pixKey.getAccount() == null) {
+                return false;
+            }
+            if (byAccount) {
+                return id.equals(pixKey.getAccount().getId());
+            }
+            return pixKey.getAccount().getUser() != null && id.equals(pixKey.getAccount().getUser().getId());
+        });
+    }
+
+    // Uma leitura concorrente pode recolocar o valor antigo antes do commit; invalida de novo depois dele
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
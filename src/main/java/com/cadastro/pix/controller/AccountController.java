@@ -2,6 +2,7 @@ package com.cadastro.pix.controller;
 
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.logging.ResponseLoggingPolicy;
 import com.cadastro.pix.dto.account.CreateAccountDTO;
 import com.cadastro.pix.service.AccountServiceImpl;
 import jakarta.validation.Valid;
@@ -25,19 +26,24 @@ public class AccountController {
     @Autowired
     private AccountServiceImpl accountService;
 
+    @Autowired
+    private ResponseLoggingPolicy responseLogging;
+
     @PostMapping
     public ResponseEntity<RespDTO> createAccount(@Valid @RequestBody CreateAccountDTO accountDTO) {
         logger.info("Request to create account received: {}", accountDTO);
         RespDTO respDTO = accountService.createAccount(accountDTO);
-        logger.info("Account created successfully: {}", respDTO);
+        responseLogging.log(logger, "Account created successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
     @GetMapping
-    public ResponseEntity<RespDTO> findAllAccounts() {
-        logger.info("Request to find all accounts received");
-        RespDTO respDTO = accountService.findAllAccounts();
-        logger.info("Accounts retrieved successfully: {}", respDTO);
+    public ResponseEntity<RespDTO> findAllAccounts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        logger.info("Request to find accounts page received. Cursor: {}, size: {}", cursor, size);
+        RespDTO respDTO = accountService.findAllAccounts(cursor, size);
+        responseLogging.log(logger, "Accounts retrieved successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -45,7 +51,7 @@ public class AccountController {
     public ResponseEntity<RespDTO> findAccountById(@PathVariable UUID id) {
         logger.info("Request to find account by id received: {}", id);
         RespDTO respDTO = accountService.findAccountById(id);
-        logger.info("Account retrieved successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "Account retrieved successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -53,7 +59,7 @@ public class AccountController {
     public ResponseEntity<RespDTO> updateAccount(@PathVariable UUID id, @Valid @RequestBody Account account) {
         logger.info("Request to update account received for id {}: {}", id, account);
         RespDTO respDTO = accountService.updateAccount(id, account);
-        logger.info("Account updated successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "Account updated successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -61,7 +67,7 @@ public class AccountController {
     public ResponseEntity<RespDTO> deleteAccount(@PathVariable UUID id) {
         logger.info("Request to delete account received for id {}", id);
         RespDTO respDTO =  accountService.deleteAccount(id);
-        logger.info("Account deleted successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "Account deleted successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 }
\ No newline at end of file
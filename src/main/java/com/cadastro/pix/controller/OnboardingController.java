@@ -0,0 +1,45 @@
+package com.cadastro.pix.controller;
+
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.logging.ResponseLoggingPolicy;
+import com.cadastro.pix.service.OnboardingServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/onboarding")
+public class OnboardingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingController.class);
+
+    @Autowired
+    private OnboardingServiceImpl onboardingService;
+
+    @Autowired
+    private ResponseLoggingPolicy responseLogging;
+
+    // O corpo e lido direto do request, sem passar por um HttpMessageConverter que carregaria tudo em memoria
+    @PostMapping(consumes = {"text/csv", PixKeyController.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<RespDTO> startOnboarding(HttpServletRequest request) throws IOException {
+        logger.info("Request to start onboarding received. Content type: {}, length: {}", request.getContentType(), request.getContentLengthLong());
+        RespDTO respDTO = onboardingService.startOnboarding(request.getInputStream(), request.getContentType());
+        responseLogging.log(logger, "Onboarding job accepted", respDTO);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(respDTO);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RespDTO> findOnboardingJob(@PathVariable UUID id) {
+        logger.info("Request to find onboarding job received: {}", id);
+        RespDTO respDTO = onboardingService.findOnboardingJob(id);
+        responseLogging.log(logger, "Onboarding job retrieved successfully", respDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(respDTO);
+    }
+}
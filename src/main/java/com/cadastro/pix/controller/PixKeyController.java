@@ -1,8 +1,10 @@
 package com.cadastro.pix.controller;
 
 import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.logging.ResponseLoggingPolicy;
 import com.cadastro.pix.dto.pixKey.CreatePixKeyDTO;
 import com.cadastro.pix.service.PixKeyServiceImpl;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,30 +27,64 @@ public class PixKeyController {
 
     private static final Logger logger = LoggerFactory.getLogger(PixKeyController.class);
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private PixKeyServiceImpl pixKeyService;
 
+    @Autowired
+    private ResponseLoggingPolicy responseLogging;
+
     @PostMapping
     public ResponseEntity<RespDTO> createPixKey(@Valid @RequestBody CreatePixKeyDTO pixKeyDTO) {
         logger.info("Request to create PIX key received: {}", pixKeyDTO);
         RespDTO respDTO = pixKeyService.createPixKey(pixKeyDTO);
-        logger.info("PIX key created successfully: {}", respDTO);
+        responseLogging.log(logger, "PIX key created successfully", respDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(respDTO);
+    }
+
+    // Cada item e validado no service e o resultado volta por item, entao o corpo nao usa @Valid
+    @PostMapping("/batch")
+    public ResponseEntity<RespDTO> createPixKeys(@RequestBody List<CreatePixKeyDTO> pixKeyDTOs) {
+        logger.info("Request to create PIX keys in batch received. Size: {}", pixKeyDTOs.size());
+        RespDTO respDTO = pixKeyService.createPixKeys(pixKeyDTOs);
+        responseLogging.log(logger, "PIX key batch processed", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
     @GetMapping
-    public ResponseEntity<RespDTO> findAllPixKeys() {
-        logger.info("Request to find all PIX keys received");
-        RespDTO respDTO = pixKeyService.findAllPixKeys();
-        logger.info("PIX keys retrieved successfully: {}", respDTO);
+    public ResponseEntity<RespDTO> findAllPixKeys(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        logger.info("Request to find PIX keys page received. Cursor: {}, size: {}", cursor, size);
+        RespDTO respDTO = pixKeyService.findAllPixKeys(cursor, size);
+        responseLogging.log(logger, "PIX keys retrieved successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public void exportPixKeys(HttpServletResponse response) throws IOException {
+        logger.info("Request to export all PIX keys as NDJSON received");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        pixKeyService.exportPixKeys(response.getOutputStream());
+        logger.info("PIX keys exported successfully");
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RespDTO> findPixKeyById(@PathVariable UUID id) {
         logger.info("Request to find PIX key by id received: {}", id);
         RespDTO respDTO = pixKeyService.findPixKeyById(id);
-        logger.info("PIX key retrieved successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "PIX key retrieved successfully", respDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(respDTO);
+    }
+
+    @GetMapping("/resolve")
+    public ResponseEntity<RespDTO> resolvePixKey(@RequestParam("value") String value) {
+        logger.info("Request to resolve PIX key received: {}", value);
+        RespDTO respDTO = pixKeyService.resolvePixKey(value);
+        responseLogging.log(logger, "PIX key resolved successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -54,7 +92,7 @@ public class PixKeyController {
     public ResponseEntity<RespDTO> findPixKeyByType(@RequestParam("keyType") String keyType) {
         logger.info("Request to find PIX keys by type received: {}", keyType);
         RespDTO user = pixKeyService.findPixKeysByType(keyType);
-        logger.info("PIX keys retrieved successfully by type {}: {}", keyType, user);
+        responseLogging.log(logger, "PIX keys retrieved successfully by type", user);
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 
@@ -64,7 +102,7 @@ public class PixKeyController {
             @RequestParam("accountNumber") Integer accountNumber) {
         logger.info("Request to find PIX keys by agency number {} and account number {} received", agencyNumber, accountNumber);
         RespDTO user = pixKeyService.findPixKeysByAgencyAndAccount(agencyNumber, accountNumber);
-        logger.info("PIX keys retrieved successfully by agency number {} and account number {}: {}", agencyNumber, accountNumber, user);
+        responseLogging.log(logger, "PIX keys retrieved successfully by agency number and account number", user);
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 
@@ -72,7 +110,7 @@ public class PixKeyController {
     public ResponseEntity<RespDTO> findPixKeyByUserName(@RequestParam("userName") String userName) {
         logger.info("Request to find PIX keys by username received: {}", userName);
         RespDTO user = pixKeyService.findPixKeysByUserName(userName);
-        logger.info("PIX keys retrieved successfully by username {}: {}", userName, user);
+        responseLogging.log(logger, "PIX keys retrieved successfully by username", user);
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 
@@ -80,7 +118,7 @@ public class PixKeyController {
     public ResponseEntity<RespDTO> findPixKeyByCreatedAt(@RequestParam("createdAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAt) {
         logger.info("Request to find PIX keys by creation date received: {}", createdAt);
         RespDTO user = pixKeyService.findPixKeysByCreatedAt(createdAt);
-        logger.info("PIX keys retrieved successfully by creation date {}: {}", createdAt, user);
+        responseLogging.log(logger, "PIX keys retrieved successfully by creation date", user);
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 
@@ -88,7 +126,7 @@ public class PixKeyController {
     public ResponseEntity<RespDTO> findPixKeyByInactivatedAt(@RequestParam("inactivatedAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inactivatedAt) {
         logger.info("Request to find PIX keys by inactivation date received: {}", inactivatedAt);
         RespDTO user = pixKeyService.findPixKeysByInactivatedAt(inactivatedAt);
-        logger.info("PIX keys retrieved successfully by inactivation date {}: {}", inactivatedAt, user);
+        responseLogging.log(logger, "PIX keys retrieved successfully by inactivation date", user);
         return ResponseEntity.status(HttpStatus.OK).body(user);
     }
 
@@ -96,7 +134,7 @@ public class PixKeyController {
     public ResponseEntity<RespDTO> deletePixKey(@PathVariable UUID id) {
         logger.info("Request to delete PIX key received for id {}", id);
         RespDTO respDTO = pixKeyService.deletePixKey(id);
-        logger.info("PIX key deleted successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "PIX key deleted successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 }
\ No newline at end of file
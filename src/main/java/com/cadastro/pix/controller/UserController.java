@@ -1,6 +1,7 @@
 package com.cadastro.pix.controller;
 
 import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.logging.ResponseLoggingPolicy;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.service.UserServiceImpl;
 import jakarta.validation.Valid;
@@ -24,19 +25,24 @@ public class UserController {
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private ResponseLoggingPolicy responseLogging;
+
     @PostMapping
     public ResponseEntity<RespDTO> createUser(@Valid @RequestBody User user) {
         logger.info("Request to create user received: {}", user);
         RespDTO respDTO = userService.createUser(user);
-        logger.info("User created successfully: {}", respDTO);
+        responseLogging.log(logger, "User created successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
     @GetMapping
-    public ResponseEntity<RespDTO> findAllUsers() {
-        logger.info("Request to find all users received");
-        RespDTO respDTO = userService.findAllUsers();
-        logger.info("Users retrieved successfully: {}", respDTO);
+    public ResponseEntity<RespDTO> findAllUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        logger.info("Request to find users page received. Cursor: {}, size: {}", cursor, size);
+        RespDTO respDTO = userService.findAllUsers(cursor, size);
+        responseLogging.log(logger, "Users retrieved successfully", respDTO);
         return ResponseEntity.ok(respDTO);
     }
 
@@ -44,7 +50,7 @@ public class UserController {
     public ResponseEntity<RespDTO> findUserById(@PathVariable UUID id) {
         logger.info("Request to find user by id received: {}", id);
         RespDTO respDTO = userService.findUserById(id);
-        logger.info("User retrieved successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "User retrieved successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -52,7 +58,7 @@ public class UserController {
     public ResponseEntity<RespDTO> updateUser(@PathVariable UUID id, @Valid @RequestBody User user) {
         logger.info("Request to update user received for id {}: {}", id, user);
         RespDTO respDTO = userService.updateUser(id, user);
-        logger.info("User updated successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "User updated successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 
@@ -60,7 +66,7 @@ public class UserController {
     public ResponseEntity<RespDTO> deleteUser(@PathVariable UUID id) {
         logger.info("Request to delete user received for id {}", id);
         RespDTO respDTO = userService.deleteUser(id);
-        logger.info("User deleted successfully for id {}: {}", id, respDTO);
+        responseLogging.log(logger, "User deleted successfully", respDTO);
         return ResponseEntity.status(HttpStatus.OK).body(respDTO);
     }
 }
\ No newline at end of file
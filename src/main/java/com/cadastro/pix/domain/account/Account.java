@@ -1,5 +1,6 @@
 package com.cadastro.pix.domain.account;
 
+import com.cadastro.pix.domain.id.UuidV7;
 import com.cadastro.pix.domain.pixKey.PixKey;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.dto.account.CreateAccountDTO;
@@ -9,8 +10,11 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,7 +26,9 @@ import java.util.*;
 @Table(name = "account")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, nullable = false, updatable = false)
     private UUID id;
 
     @NotNull(message = "Account type must not be null")
@@ -54,6 +60,20 @@ public class Account {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
+    // Contadores desnormalizados das chaves ativas. So mudam pelos UPDATEs condicionais de
+    // AccountRepository.reservePixKeySlot/releasePixKeySlot; o save da entidade nunca os sobrescreve.
+    @ColumnDefault("0")
+    @Column(name = "active_key_count", nullable = false, insertable = false, updatable = false)
+    private Integer activeKeyCount = 0;
+
+    @ColumnDefault("false")
+    @Column(name = "has_cpf_key", nullable = false, insertable = false, updatable = false)
+    private Boolean hasCpfKey = false;
+
+    @ColumnDefault("false")
+    @Column(name = "has_cnpj_key", nullable = false, insertable = false, updatable = false)
+    private Boolean hasCnpjKey = false;
+
     @Column(name = "inactivated_at")
     private LocalDateTime inactivatedAt;
 
@@ -84,6 +104,7 @@ public class Account {
                 ", agencyNumber=" + agencyNumber +
                 ", accountNumber=" + accountNumber +
                 ", active=" + active +
+                ", activeKeyCount=" + activeKeyCount +
                 ", inactivatedAt=" + inactivatedAt +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
@@ -0,0 +1,20 @@
+package com.cadastro.pix.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Gera o id da entidade como UUID versao 7 (RFC 9562), ordenado pelo instante de criaçao.
+ * Inserts consecutivos caem no fim do indice da chave primaria em vez de paginas aleatorias.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
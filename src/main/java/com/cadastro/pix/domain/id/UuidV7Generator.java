@@ -0,0 +1,47 @@
+package com.cadastro.pix.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7: 48 bits de timestamp em ms, versao, 12 bits de contador e 62 bits aleatorios.
+ * O contador (metodo 1 da RFC 9562) mantem os ids gerados por esta JVM estritamente crescentes,
+ * mesmo com varios ids no mesmo milissegundo ou com o relogio voltando.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    // timestamp em ms << 12 | contador
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long previous;
+        long current;
+        do {
+            previous = LAST.get();
+            // estourando o contador o timestamp avança 1 ms, preservando a ordem
+            current = (previous >>> 12) < now ? now << 12 : previous + 1;
+        } while (!LAST.compareAndSet(previous, current));
+
+        long mostSigBits = (current >>> 12) << 16 | 0x7000L | (current & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cadastro.pix.domain.pixKey;
 
 import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.id.UuidV7;
 import com.cadastro.pix.dto.pixKey.CreatePixKeyDTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -9,7 +10,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,10 +21,14 @@ import java.util.UUID;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "pix_key")
+@Table(name = "pix_key", uniqueConstraints = @UniqueConstraint(name = PixKey.ACTIVE_KEY_VALUE_CONSTRAINT, columnNames = "active_key_value"))
 public class PixKey {
+    public static final String ACTIVE_KEY_VALUE_CONSTRAINT = "uk_pix_key_active_key_value";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16, nullable = false, updatable = false)
     private UUID id;
 
     @NotNull(message = "Key type must not be null")
@@ -40,6 +47,12 @@ public class PixKey {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
+    // Coluna gerada pelo banco: igual a key_value enquanto a chave esta ativa e null depois.
+    // O indice unico nela garante um unico valor ativo (varios nulls sao permitidos).
+    @Column(name = "active_key_value", insertable = false, updatable = false,
+            columnDefinition = "varchar(77) generated always as (case when active then key_value end)")
+    private String activeKeyValue;
+
     @Column(name = "inactivated_at")
     private LocalDateTime inactivatedAt;
 
@@ -2,6 +2,7 @@ package com.cadastro.pix.dto.account;
 
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.interfaces.BaseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,14 +13,24 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class SimpleAccountListWithUserDTO implements BaseDTO {
     private List<SimpleAccountWithUserDTO> accounts;
+    private String nextCursor;
 
     public static SimpleAccountListWithUserDTO fromAccounts(List<Account> accounts) {
+        return fromAccounts(accounts, null);
+    }
+
+    public static SimpleAccountListWithUserDTO fromAccounts(List<Account> accounts, String nextCursor) {
         List<SimpleAccountWithUserDTO> accountDTOs = accounts.stream()
                 .map(SimpleAccountWithUserDTO::new)
                 .collect(Collectors.toList());
-        return new SimpleAccountListWithUserDTO(accountDTOs);
+        return new SimpleAccountListWithUserDTO(accountDTOs, nextCursor);
     }
-}
 
+    @Override
+    public int elementCount() {
+        return accounts == null ? 0 : accounts.size();
+    }
+}
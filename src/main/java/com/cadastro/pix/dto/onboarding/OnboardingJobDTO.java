@@ -0,0 +1,42 @@
+package com.cadastro.pix.dto.onboarding;
+
+import com.cadastro.pix.interfaces.BaseDTO;
+import com.cadastro.pix.onboarding.OnboardingJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OnboardingJobDTO implements BaseDTO {
+    private UUID id;
+    private String status;
+    private long rowsRead;
+    private long usersCreated;
+    private long accountsCreated;
+    private long rowsRejected;
+    private String failure;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private List<OnboardingRowErrorDTO> errors;
+
+    public OnboardingJobDTO(OnboardingJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus().name().toLowerCase();
+        this.rowsRead = job.getRowsRead();
+        this.usersCreated = job.getUsersCreated();
+        this.accountsCreated = job.getAccountsCreated();
+        this.rowsRejected = job.getRowsRejected();
+        this.failure = job.getFailure();
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.errors = job.getErrors();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cadastro.pix.dto.onboarding;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma linha do arquivo de onboarding: o usuario e, opcionalmente, uma conta dele.
+ * As colunas do CSV (e os campos do NDJSON) tem os mesmos nomes dos atributos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OnboardingRowDTO {
+    private String personType;
+    private String userName;
+    private String userLastName;
+    private String identification;
+    private String phone;
+    private String email;
+
+    private String accountType;
+    private Integer agencyNumber;
+    private Integer accountNumber;
+
+    public boolean hasAccount() {
+        return accountType != null || agencyNumber != null || accountNumber != null;
+    }
+
+    public User toUser() {
+        User user = new User();
+        user.setPersonType(personType);
+        user.setUserName(userName);
+        user.setUserLastName(userLastName);
+        user.setIdentification(identification);
+        user.setPhone(phone);
+        user.setEmail(email);
+        user.setActive(true);
+        return user;
+    }
+
+    public Account toAccount(User user) {
+        Account account = new Account();
+        account.setAccountType(accountType);
+        account.setAgencyNumber(agencyNumber);
+        account.setAccountNumber(accountNumber);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+}
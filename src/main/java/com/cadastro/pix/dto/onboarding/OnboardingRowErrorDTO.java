@@ -0,0 +1,13 @@
+package com.cadastro.pix.dto.onboarding;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingRowErrorDTO {
+    private long line;
+    private String message;
+}
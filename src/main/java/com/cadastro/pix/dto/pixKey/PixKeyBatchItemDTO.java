@@ -0,0 +1,37 @@
+package com.cadastro.pix.dto.pixKey;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PixKeyBatchItemDTO {
+    public static final String CREATED = "created";
+    public static final String REJECTED = "rejected";
+
+    private int index;
+    private String keyValue;
+    private String status;
+    private UUID id;
+    private String message;
+
+    public static PixKeyBatchItemDTO created(int index, String keyValue, UUID id) {
+        return new PixKeyBatchItemDTO(index, keyValue, CREATED, id, null);
+    }
+
+    public static PixKeyBatchItemDTO rejected(int index, String keyValue, String message) {
+        return new PixKeyBatchItemDTO(index, keyValue, REJECTED, null, message);
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return CREATED.equals(status);
+    }
+}
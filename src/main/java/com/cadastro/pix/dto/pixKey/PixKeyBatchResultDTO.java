@@ -0,0 +1,33 @@
+package com.cadastro.pix.dto.pixKey;
+
+import com.cadastro.pix.interfaces.BaseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PixKeyBatchResultDTO implements BaseDTO {
+    private int created;
+    private int rejected;
+    private List<PixKeyBatchItemDTO> items;
+
+    public static PixKeyBatchResultDTO fromItems(PixKeyBatchItemDTO[] items) {
+        int created = 0;
+        for (PixKeyBatchItemDTO item : items) {
+            if (item.isCreated()) {
+                created++;
+            }
+        }
+        return new PixKeyBatchResultDTO(created, items.length - created, Arrays.asList(items));
+    }
+
+    @Override
+    public int elementCount() {
+        return items == null ? 0 : items.size();
+    }
+}
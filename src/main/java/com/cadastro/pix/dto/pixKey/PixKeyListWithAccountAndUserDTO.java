@@ -3,6 +3,7 @@ package com.cadastro.pix.dto.pixKey;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.domain.pixKey.PixKey;
 import com.cadastro.pix.interfaces.BaseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,20 +14,31 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PixKeyListWithAccountAndUserDTO implements BaseDTO {
     private List<PixKeyWithAccountDTO> pixKeys;
+    private String nextCursor;
 
     public static PixKeyListWithAccountAndUserDTO fromPixKeys(List<PixKey> pixKeys) {
+        return fromPixKeys(pixKeys, (String) null);
+    }
+
+    public static PixKeyListWithAccountAndUserDTO fromPixKeys(List<PixKey> pixKeys, String nextCursor) {
         List<PixKeyWithAccountDTO> pixKeyDTOs = pixKeys.stream()
                 .map(PixKeyWithAccountDTO::new)
                 .collect(Collectors.toList());
-        return new PixKeyListWithAccountAndUserDTO(pixKeyDTOs);
+        return new PixKeyListWithAccountAndUserDTO(pixKeyDTOs, nextCursor);
     }
 
     public static PixKeyListWithAccountAndUserDTO fromPixKeys(List<PixKey> pixKeys, Account account) {
         List<PixKeyWithAccountDTO> pixKeyDTOs = pixKeys.stream()
                 .map(pixKey -> new PixKeyWithAccountDTO(pixKey, account))
                 .collect(Collectors.toList());
-        return new PixKeyListWithAccountAndUserDTO(pixKeyDTOs);
+        return new PixKeyListWithAccountAndUserDTO(pixKeyDTOs, null);
+    }
+
+    @Override
+    public int elementCount() {
+        return pixKeys == null ? 0 : pixKeys.size();
     }
-}
\ No newline at end of file
+}
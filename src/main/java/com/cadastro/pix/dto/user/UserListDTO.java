@@ -2,6 +2,7 @@ package com.cadastro.pix.dto.user;
 
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.interfaces.BaseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
@@ -13,13 +14,24 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserListDTO implements BaseDTO {
     private List<UserDTO> users;
+    private String nextCursor;
 
     public static UserListDTO fromUsers(List<User> users) {
+        return fromUsers(users, null);
+    }
+
+    public static UserListDTO fromUsers(List<User> users, String nextCursor) {
         List<UserDTO> userDTOs = users.stream()
                 .map(UserDTO::new)
                 .collect(Collectors.toList());
-        return new UserListDTO(userDTOs);
+        return new UserListDTO(userDTOs, nextCursor);
+    }
+
+    @Override
+    public int elementCount() {
+        return users == null ? 0 : users.size();
     }
-}
\ No newline at end of file
+}
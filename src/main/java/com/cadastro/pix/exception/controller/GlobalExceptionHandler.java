@@ -1,18 +1,25 @@
 package com.cadastro.pix.exception.controller;
 
 import com.cadastro.pix.controller.UserController;
+import com.cadastro.pix.domain.pixKey.PixKey;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.exception.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.util.Map;
@@ -25,6 +32,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<RespDTO> handleEntityNotFound(EntityNotFoundException ex) {
         logger.error("Entity not found error: {}", ex.getMessage());
+        recordError(ex);
         RespDTO respDTO = new RespDTO(
                 HttpStatus.NOT_FOUND,
                 ex.getMessage()
@@ -35,6 +43,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<RespDTO> handleIllegalArgument(IllegalArgumentException ex) {
         logger.error("Illegal argument error: {}", ex.getMessage());
+        recordError(ex);
         RespDTO respDTO = new RespDTO(
                 HttpStatus.UNPROCESSABLE_ENTITY,
                 ex.getMessage()
@@ -42,10 +51,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(respDTO, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<RespDTO> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String message = "Data integrity violation";
+        String cause = ex.getMostSpecificCause().getMessage();
+        if (cause != null && cause.toLowerCase().contains(PixKey.ACTIVE_KEY_VALUE_CONSTRAINT)) {
+            message = "Pix key value already registered";
+        }
+
+        logger.error("Data integrity violation error: {}", cause);
+        recordError(ex);
+        RespDTO respDTO = new RespDTO(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                message
+        );
+        return new ResponseEntity<>(respDTO, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<RespDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
         FieldError error = (FieldError) ex.getBindingResult().getAllErrors().get(0);
         logger.error("Validation error: {}", error.getDefaultMessage());
+        recordError(ex);
         RespDTO respDTO = new RespDTO(
                 HttpStatus.UNPROCESSABLE_ENTITY,
                 error.getDefaultMessage()
@@ -56,6 +83,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<RespDTO> handleNoHandlerFoundException(NoHandlerFoundException ex) {
         logger.error("No handler found error: {}", ex.getMessage());
+        recordError(ex);
         RespDTO respDTO = new RespDTO(
                 HttpStatus.NOT_FOUND,
                 ex.getMessage()
@@ -65,10 +93,32 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<RespDTO> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
         logger.error("Message not readable error: {}", ex.getMessage());
+        recordError(ex);
         RespDTO respDTO = new RespDTO(
                 HttpStatus.BAD_REQUEST,
                 ex.getMessage()
         );
         return new ResponseEntity<>(respDTO, HttpStatus.BAD_REQUEST);
     }
+
+    // Sem conexao livre no pool dentro do connection-timeout (ou banco fora): a requisiçao falha rapido em vez de enfileirar
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<RespDTO> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        logger.error("Database connection unavailable: {}", ex.getMessage());
+        recordError(ex);
+        RespDTO respDTO = new RespDTO(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Database connection unavailable"
+        );
+        return new ResponseEntity<>(respDTO, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // excecoes tratadas aqui nao chegam ao filtro de observaçao; sem isso o http.server.requests fica com exception=none
+    private static void recordError(Throwable ex) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            ServerHttpObservationFilter.findObservationContext(servletAttributes.getRequest())
+                    .ifPresent(context -> context.setError(ex));
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.cadastro.pix.index;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de byte[] para os valores sem codificaçao numerica (emails). Guarda o hash de 64 bits
+ * ao lado do array para comparar os bytes so quando os hashes batem; mesmo esquema de
+ * {@link LongHashSet}, com {@code null} marcando slot livre.
+ */
+final class BytesHashSet {
+
+    final long[] hashes;
+    final byte[][] keys;
+    private final int mask;
+    private int size;
+    private long keyBytes;
+
+    BytesHashSet(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        this.hashes = new long[capacity];
+        this.keys = new byte[capacity][];
+        this.mask = capacity - 1;
+    }
+
+    BytesHashSet(long[] hashes, byte[][] keys, int size, long keyBytes) {
+        this.hashes = hashes;
+        this.keys = keys;
+        this.mask = keys.length - 1;
+        this.size = size;
+        this.keyBytes = keyBytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long keyBytes() {
+        return keyBytes;
+    }
+
+    // referencias comprimidas de 4 bytes e 16 bytes de cabeçalho por array
+    long memoryBytes() {
+        return keys.length * (long) (Long.BYTES + 4) + keyBytes + size * 16L;
+    }
+
+    boolean isFull() {
+        return (size + 1) * 2L > keys.length;
+    }
+
+    BytesHashSet grow() {
+        BytesHashSet grown = new BytesHashSet(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                grown.add(hashes[i], keys[i]);
+            }
+        }
+        return grown;
+    }
+
+    boolean contains(long hash, byte[] key) {
+        int index = slot(hash);
+        for (int probes = 0; probes <= mask; probes++) {
+            byte[] current = keys[index];
+            if (current == null) {
+                return false;
+            }
+            if (hashes[index] == hash && Arrays.equals(current, key)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    void add(long hash, byte[] key) {
+        int index = slot(hash);
+        while (keys[index] != null && (hashes[index] != hash || !Arrays.equals(keys[index], key))) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == null) {
+            size++;
+            keyBytes += key.length;
+            hashes[index] = hash;
+            keys[index] = key;
+        }
+    }
+
+    boolean remove(long hash, byte[] key) {
+        int index = slot(hash);
+        while (keys[index] == null || hashes[index] != hash || !Arrays.equals(keys[index], key)) {
+            if (keys[index] == null) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keyBytes -= keys[index].length;
+
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != null) {
+            int home = slot(hashes[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                hashes[hole] = hashes[next];
+                keys[hole] = keys[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        hashes[hole] = 0;
+        keys[hole] = null;
+        size--;
+        return true;
+    }
+
+    private int slot(long hash) {
+        return (int) Hashing.mix(hash) & mask;
+    }
+}
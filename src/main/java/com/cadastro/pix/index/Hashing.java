@@ -0,0 +1,36 @@
+package com.cadastro.pix.index;
+
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    // finalizador do MurmurHash3 (fmix64)
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB2F9FC5A2B5BL;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // FNV-1a de 64 bits sobre os bytes
+    static long hash(byte[] value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // Menor potencia de 2 que mantem expectedSize com ocupaçao de ate 50%
+    static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2L && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,263 @@
+package com.cadastro.pix.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Log append-only das criaçoes e desativaçoes de chaves feitas por este no, em arquivos
+ * {@code changes-<geraçao>.log}. Cada snapshot abre uma geraçao nova, e as anteriores a ele sao apagadas.
+ *
+ * Registro: tamanho da chave, operaçao, bytes UTF-8 da chave e o CRC32C de tudo isso.
+ * Nao ha fsync por registro: um final de arquivo truncado por queda e detectado pelo CRC e a leitura para ali.
+ * O que se perde assim nao quebra o indice, porque as criaçoes voltam pela consulta ao banco da subida e uma
+ * desativaçao perdida so deixa um "contem" que o banco ainda confirma.
+ *
+ * {@link #put}, {@link #remove}, {@link #rotate} e {@link #deleteBefore} so enfileiram; uma thread propria
+ * grava em lote, com buffer, na ordem da fila. Assim o disco fica fora do write lock do {@link PixKeyIndex},
+ * que chama esses metodos com o lock para a ordem do log ser a mesma das escritas no indice.
+ */
+final class KeyChangeLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyChangeLog.class);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte ROTATE = 3;
+    private static final byte DELETE_BEFORE = 4;
+    private static final byte STOP = 5;
+    private static final int HEADER = Short.BYTES + 1;
+    private static final int MAX_BATCH = 4096;
+    private static final Pattern FILE_NAME = Pattern.compile("changes-(\\d+)\\.log");
+
+    private final Path dir;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    // usados so pela thread de escrita
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private Thread writer;
+    // geraçao que recebe os proximos registros enfileirados
+    private volatile long generation;
+
+    KeyChangeLog(Path dir) {
+        this.dir = dir;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    // Sempre um arquivo novo, depois das geraçoes existentes, para nunca escrever atras de um final truncado
+    void open() throws IOException {
+        Files.createDirectories(dir);
+        List<Long> generations = generations();
+        generation = generations.isEmpty() ? 1 : generations.get(generations.size() - 1) + 1;
+        channel = openFile(generation);
+        writer = new Thread(this::write, "pix-key-index-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    long rotate() {
+        generation++;
+        queue.add(new Entry(ROTATE, null, generation));
+        return generation;
+    }
+
+    void put(String keyValue) {
+        queue.add(new Entry(PUT, keyValue, 0));
+    }
+
+    void remove(String keyValue) {
+        queue.add(new Entry(REMOVE, keyValue, 0));
+    }
+
+    void deleteBefore(long generation) {
+        queue.add(new Entry(DELETE_BEFORE, null, generation));
+    }
+
+    // Grava o que ja estava na fila e para a thread
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        queue.add(new Entry(STOP, null, 0));
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Aplica as geraçoes [from, to) no indice; devolve quantos registros foram aplicados
+    long replay(long from, long to, KeyIndex index) throws IOException {
+        long applied = 0;
+        for (long current : generations()) {
+            if (current >= from && current < to) {
+                applied += replay(file(current), index);
+            }
+        }
+        return applied;
+    }
+
+    private void write() {
+        List<Entry> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH);
+            for (Entry entry : batch) {
+                try {
+                    switch (entry.operation()) {
+                        case PUT, REMOVE -> append(entry);
+                        case ROTATE -> {
+                            flush();
+                            closeFile();
+                            channel = openFile(entry.generation());
+                        }
+                        case DELETE_BEFORE -> deleteFiles(entry.generation());
+                        default -> {
+                            flush();
+                            closeFile();
+                            return;
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to write PixKey index change log in {}", dir, e);
+                }
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                logger.warn("Failed to write PixKey index change log in {}", dir, e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void append(Entry entry) throws IOException {
+        byte[] key = entry.keyValue().getBytes(StandardCharsets.UTF_8);
+        int size = HEADER + key.length + Integer.BYTES;
+        if (buffer.remaining() < size) {
+            flush();
+        }
+        int start = buffer.position();
+        buffer.putShort((short) key.length).put(entry.operation()).put(key);
+        crc.reset();
+        crc.update(buffer.array(), start, buffer.position() - start);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    // Sem arquivo aberto (rotaçao que falhou) os registros sao descartados
+    private void flush() throws IOException {
+        buffer.flip();
+        try {
+            while (channel != null && buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void closeFile() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel openFile(long generation) throws IOException {
+        return FileChannel.open(file(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void deleteFiles(long generation) throws IOException {
+        for (long current : generations()) {
+            if (current < generation) {
+                Files.deleteIfExists(file(current));
+            }
+        }
+    }
+
+    private long replay(Path file, KeyIndex index) throws IOException {
+        long applied = 0;
+        // crc proprio: a leitura roda na subida enquanto a thread de escrita ja grava a geraçao atual
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] header = new byte[HEADER];
+            while (true) {
+                try {
+                    in.readFully(header);
+                    ByteBuffer fields = ByteBuffer.wrap(header);
+                    byte[] key = new byte[Short.toUnsignedInt(fields.getShort())];
+                    in.readFully(key);
+                    int expected = in.readInt();
+
+                    crc.reset();
+                    crc.update(header);
+                    crc.update(key);
+                    if ((int) crc.getValue() != expected) {
+                        return applied;
+                    }
+
+                    byte operation = fields.get();
+                    String keyValue = new String(key, StandardCharsets.UTF_8);
+                    if (operation == PUT) {
+                        index.add(keyValue);
+                    } else {
+                        index.remove(keyValue);
+                    }
+                    applied++;
+                } catch (EOFException e) {
+                    return applied;
+                }
+            }
+        }
+    }
+
+    private List<Long> generations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path file(long generation) {
+        return dir.resolve("changes-" + generation + ".log");
+    }
+
+    // generation so e usada em ROTATE e DELETE_BEFORE
+    private record Entry(byte operation, String keyValue, long generation) {
+    }
+}
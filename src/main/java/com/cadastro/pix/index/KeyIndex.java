@@ -0,0 +1,183 @@
+package com.cadastro.pix.index;
+
+import com.cadastro.pix.utils.FormatChecks;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conjunto dos valores das chaves Pix ativas, sem guardar Strings.
+ *
+ * Cada valor vai para o conjunto da sua forma, reconhecida pelo formato (os formatos validos dos tipos
+ * nao se sobrepoem, entao o tipo declarado nao e necessario):
+ * <ul>
+ *     <li>CPF (11 digitos) e CNPJ (14 digitos): o numero num long;</li>
+ *     <li>celular (+ e digitos): os digitos num long, com a quantidade de digitos nos bits altos;</li>
+ *     <li>chave aleatoria em minusculas: o UUID em dois longs;</li>
+ *     <li>o resto (emails, UUID em maiusculas): os bytes UTF-8, com o hash de 64 bits ao lado.</li>
+ * </ul>
+ *
+ * Nao e thread-safe; o {@link PixKeyIndex} faz a sincronizaçao.
+ */
+final class KeyIndex {
+
+    static final int CPF = 0;
+    static final int CNPJ = 1;
+    static final int PHONE = 2;
+    static final int RANDOM = 3;
+    static final int OTHER = 4;
+
+    // marca cpf/cnpj para o valor nunca ser 0, o marcador de slot livre ("00000000000" e um valor possivel)
+    private static final long DIGITS_TAG = 1L << 62;
+    private static final int PHONE_LENGTH_SHIFT = 56;
+
+    LongHashSet cpf;
+    LongHashSet cnpj;
+    LongHashSet phone;
+    UuidHashSet random;
+    BytesHashSet other;
+
+    // A distribuiçao entre os tipos nao e conhecida antes da carga; pre-alocar todos os conjuntos pelo total
+    // de chaves dobraria a memoria, entao cada um começa pequeno e cresce sob demanda
+    KeyIndex() {
+        this.cpf = new LongHashSet(16);
+        this.cnpj = new LongHashSet(16);
+        this.phone = new LongHashSet(16);
+        this.random = new UuidHashSet(16);
+        this.other = new BytesHashSet(16);
+    }
+
+    KeyIndex(LongHashSet cpf, LongHashSet cnpj, LongHashSet phone, UuidHashSet random, BytesHashSet other) {
+        this.cpf = cpf;
+        this.cnpj = cnpj;
+        this.phone = phone;
+        this.random = random;
+        this.other = other;
+    }
+
+    int size() {
+        return cpf.size() + cnpj.size() + phone.size() + random.size() + other.size();
+    }
+
+    long memoryBytes() {
+        return cpf.memoryBytes() + cnpj.memoryBytes() + phone.memoryBytes() + random.memoryBytes() + other.memoryBytes();
+    }
+
+    boolean contains(String keyValue) {
+        return switch (kind(keyValue)) {
+            case CPF -> cpf.contains(digits(keyValue));
+            case CNPJ -> cnpj.contains(digits(keyValue));
+            case PHONE -> phone.contains(phone(keyValue));
+            case RANDOM -> random.contains(uuidMost(keyValue), uuidLeast(keyValue));
+            default -> {
+                byte[] bytes = keyValue.getBytes(StandardCharsets.UTF_8);
+                yield other.contains(Hashing.hash(bytes), bytes);
+            }
+        };
+    }
+
+    void add(String keyValue) {
+        switch (kind(keyValue)) {
+            case CPF -> {
+                if (cpf.isFull()) {
+                    cpf = cpf.grow();
+                }
+                cpf.add(digits(keyValue));
+            }
+            case CNPJ -> {
+                if (cnpj.isFull()) {
+                    cnpj = cnpj.grow();
+                }
+                cnpj.add(digits(keyValue));
+            }
+            case PHONE -> {
+                if (phone.isFull()) {
+                    phone = phone.grow();
+                }
+                phone.add(phone(keyValue));
+            }
+            case RANDOM -> {
+                if (random.isFull()) {
+                    random = random.grow();
+                }
+                random.add(uuidMost(keyValue), uuidLeast(keyValue));
+            }
+            default -> {
+                if (other.isFull()) {
+                    other = other.grow();
+                }
+                byte[] bytes = keyValue.getBytes(StandardCharsets.UTF_8);
+                other.add(Hashing.hash(bytes), bytes);
+            }
+        }
+    }
+
+    boolean remove(String keyValue) {
+        return switch (kind(keyValue)) {
+            case CPF -> cpf.remove(digits(keyValue));
+            case CNPJ -> cnpj.remove(digits(keyValue));
+            case PHONE -> phone.remove(phone(keyValue));
+            case RANDOM -> random.remove(uuidMost(keyValue), uuidLeast(keyValue));
+            default -> {
+                byte[] bytes = keyValue.getBytes(StandardCharsets.UTF_8);
+                yield other.remove(Hashing.hash(bytes), bytes);
+            }
+        };
+    }
+
+    static int kind(String keyValue) {
+        int length = keyValue.length();
+        if ((length == 11 || length == 14) && FormatChecks.isDigits(keyValue)) {
+            return length == 11 ? CPF : CNPJ;
+        }
+        if (FormatChecks.isPhone(keyValue)) {
+            return PHONE;
+        }
+        if (isCanonicalUuid(keyValue)) {
+            return RANDOM;
+        }
+        return OTHER;
+    }
+
+    private static long digits(String keyValue) {
+        return Long.parseLong(keyValue) | DIGITS_TAG;
+    }
+
+    private static long phone(String keyValue) {
+        int length = keyValue.length();
+        return ((long) (length - 1) << PHONE_LENGTH_SHIFT) | Long.parseLong(keyValue, 1, length, 10);
+    }
+
+    // So a forma minuscula do UUID.toString(), para o texto voltar identico; o UUID nulo colidiria com o slot livre
+    private static boolean isCanonicalUuid(String keyValue) {
+        if (keyValue.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = keyValue.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return uuidMost(keyValue) != 0 || uuidLeast(keyValue) != 0;
+    }
+
+    private static long uuidMost(String keyValue) {
+        return hex(keyValue, 0, 8) << 32 | hex(keyValue, 9, 13) << 16 | hex(keyValue, 14, 18);
+    }
+
+    private static long uuidLeast(String keyValue) {
+        return hex(keyValue, 19, 23) << 48 | hex(keyValue, 24, 36);
+    }
+
+    private static long hex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = (result << 4) | Character.digit(value.charAt(i), 16);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,257 @@
+package com.cadastro.pix.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Copia em disco de um {@link KeyIndex}: os arrays dos conjuntos gravados como estao, sem re-hash na leitura.
+ *
+ * A leitura mapeia o arquivo em memoria e copia cada array em bloco; so as chaves em bytes (emails) sao
+ * lidas uma a uma. A escrita vai para um arquivo temporario, com fsync, e substitui o anterior com um
+ * move atomico, entao um snapshot lido esta sempre completo.
+ *
+ * Cabeçalho: magic, versao, {@code coveredUntil} (chaves de outros nos criadas ate esse instante ja estao
+ * no indice) e a geraçao do {@link KeyChangeLog} a partir da qual as mudanças ainda nao estao no snapshot.
+ * A versao 1 tambem guardava a conta de cada chave; um arquivo nessa versao e recusado e o indice e reconstruido.
+ */
+final class KeyIndexSnapshot {
+
+    private static final int MAGIC = 0x50495849;
+    private static final int VERSION = 2;
+
+    // janela de mapeamento; os arrays maiores que isso sao lidos em partes
+    private static final long WINDOW = 1L << 30;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    record Loaded(KeyIndex index, LocalDateTime coveredUntil, long generation) {
+    }
+
+    private KeyIndexSnapshot() {
+    }
+
+    static void write(Path file, KeyIndex index, LocalDateTime coveredUntil, long generation) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = new Writer(FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(coveredUntil.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(coveredUntil.getNano());
+            out.writeLong(generation);
+
+            writeSet(out, index.cpf);
+            writeSet(out, index.cnpj);
+            writeSet(out, index.phone);
+            writeSet(out, index.random);
+            writeSet(out, index.other);
+            out.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Loaded read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Reader in = new Reader(channel);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown PixKey index snapshot format: " + file);
+            }
+            LocalDateTime coveredUntil = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            long generation = in.readLong();
+
+            LongHashSet cpf = readLongSet(in);
+            LongHashSet cnpj = readLongSet(in);
+            LongHashSet phone = readLongSet(in);
+            UuidHashSet random = readUuidSet(in);
+            BytesHashSet other = readBytesSet(in);
+
+            KeyIndex index = new KeyIndex(cpf, cnpj, phone, random, other);
+            return new Loaded(index, coveredUntil, generation);
+        }
+    }
+
+    private static void writeSet(Writer out, LongHashSet set) throws IOException {
+        out.writeInt(set.keys.length);
+        out.writeInt(set.size());
+        out.writeLongs(set.keys, set.keys.length);
+    }
+
+    private static void writeSet(Writer out, UuidHashSet set) throws IOException {
+        out.writeInt(set.most.length);
+        out.writeInt(set.size());
+        out.writeLongs(set.most, set.most.length);
+        out.writeLongs(set.least, set.least.length);
+    }
+
+    // slots livres gravados com tamanho -1; uma chave vazia nao e um valor valido, mas nao depende disso
+    private static void writeSet(Writer out, BytesHashSet set) throws IOException {
+        out.writeInt(set.keys.length);
+        out.writeInt(set.size());
+        out.writeLong(set.keyBytes());
+        out.writeLongs(set.hashes, set.hashes.length);
+        for (byte[] key : set.keys) {
+            if (key == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(key.length);
+                out.writeBytes(key);
+            }
+        }
+    }
+
+    private static LongHashSet readLongSet(Reader in) throws IOException {
+        int capacity = in.readInt();
+        int size = in.readInt();
+        long[] keys = new long[capacity];
+        in.readLongs(keys, capacity);
+        return new LongHashSet(keys, size);
+    }
+
+    private static UuidHashSet readUuidSet(Reader in) throws IOException {
+        int capacity = in.readInt();
+        int size = in.readInt();
+        long[] most = new long[capacity];
+        long[] least = new long[capacity];
+        in.readLongs(most, capacity);
+        in.readLongs(least, capacity);
+        return new UuidHashSet(most, least, size);
+    }
+
+    private static BytesHashSet readBytesSet(Reader in) throws IOException {
+        int capacity = in.readInt();
+        int size = in.readInt();
+        long keyBytes = in.readLong();
+        long[] hashes = new long[capacity];
+        byte[][] keys = new byte[capacity][];
+        in.readLongs(hashes, capacity);
+        for (int i = 0; i < capacity; i++) {
+            int length = in.readInt();
+            if (length >= 0) {
+                keys[i] = in.readBytes(length);
+            }
+        }
+        return new BytesHashSet(hashes, keys, size, keyBytes);
+    }
+
+    private static final class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void writeBytes(byte[] value) throws IOException {
+            ensure(value.length);
+            buffer.put(value);
+        }
+
+        void writeLongs(long[] values, int count) throws IOException {
+            for (int done = 0; done < count; ) {
+                ensure(Long.BYTES);
+                int n = Math.min(count - done, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(values, done, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                done += n;
+            }
+        }
+
+        void force() throws IOException {
+            flush();
+            channel.force(true);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class Reader {
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+        }
+
+        int readInt() throws IOException {
+            ensure(Integer.BYTES);
+            return window.getInt();
+        }
+
+        long readLong() throws IOException {
+            ensure(Long.BYTES);
+            return window.getLong();
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            ensure(length);
+            byte[] value = new byte[length];
+            window.get(value);
+            return value;
+        }
+
+        void readLongs(long[] values, int count) throws IOException {
+            for (int done = 0; done < count; ) {
+                ensure(Long.BYTES);
+                int n = Math.min(count - done, window.remaining() / Long.BYTES);
+                window.asLongBuffer().get(values, done, n);
+                window.position(window.position() + n * Long.BYTES);
+                done += n;
+            }
+        }
+
+        // remapeia a janela a partir da posiçao atual quando o que falta nela nao cabe o proximo valor
+        private void ensure(int bytes) throws IOException {
+            if (window != null && window.remaining() >= bytes) {
+                return;
+            }
+            long position = window == null ? 0 : windowStart + window.position();
+            long length = Math.min(WINDOW, fileSize - position);
+            if (length < bytes) {
+                throw new IOException("Truncated PixKey index snapshot");
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowStart = position;
+        }
+    }
+}
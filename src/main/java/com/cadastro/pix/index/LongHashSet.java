@@ -0,0 +1,105 @@
+package com.cadastro.pix.index;
+
+/**
+ * Conjunto de longs de endereçamento aberto: sondagem linear, ocupaçao maxima de 50% e remoçao
+ * por deslocamento (sem tombstones). A chave 0 marca slot livre e nao pode ser usada.
+ *
+ * O array tem tamanho fixo; o crescimento devolve um conjunto novo ({@link #grow()}), entao um leitor
+ * sem lock nunca ve chaves de capacidades diferentes. Escritas precisam de sincronizaçao externa.
+ */
+final class LongHashSet {
+
+    final long[] keys;
+    private final int mask;
+    private int size;
+
+    LongHashSet(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    // Array ja preenchido, lido do snapshot em disco
+    LongHashSet(long[] keys, int size) {
+        this.keys = keys;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return keys.length * (long) Long.BYTES;
+    }
+
+    boolean isFull() {
+        return (size + 1) * 2L > keys.length;
+    }
+
+    LongHashSet grow() {
+        LongHashSet grown = new LongHashSet(keys.length);
+        for (long key : keys) {
+            if (key != 0) {
+                grown.add(key);
+            }
+        }
+        return grown;
+    }
+
+    // o laço e limitado pela capacidade para leituras concorrentes com uma escrita
+    boolean contains(long key) {
+        int index = slot(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys[index];
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    void add(long key) {
+        int index = slot(key);
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == 0) {
+            size++;
+            keys[index] = key;
+        }
+    }
+
+    boolean remove(long key) {
+        int index = slot(key);
+        while (keys[index] != key) {
+            if (keys[index] == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != 0) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private int slot(long key) {
+        return (int) Hashing.mix(key) & mask;
+    }
+}
@@ -0,0 +1,373 @@
+package com.cadastro.pix.index;
+
+import com.cadastro.pix.repository.PixKeyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Indice em memoria dos valores das chaves Pix ativas, com as codificaçoes compactas de {@link KeyIndex}.
+ *
+ * Carregado na subida e reconstruido periodicamente, como o {@link com.cadastro.pix.cache.PixKeyBloomFilter};
+ * entre as cargas recebe as criaçoes e desativaçoes deste no e, a cada refresh, as chaves criadas por outros nos.
+ * Um "nao contem" dispensa o banco. Um "contem" ainda e confirmado no banco, porque a desativaçao feita
+ * em outro no so sai do indice no proximo rebuild.
+ *
+ * Com {@code pix.key-index.snapshot-dir}, cada rebuild grava o indice novo em disco ({@link KeyIndexSnapshot})
+ * antes de publica-lo, e as criaçoes e desativaçoes deste no vao para um {@link KeyChangeLog}. Na subida o snapshot e mapeado, o log e reaplicado e so as chaves criadas depois do
+ * snapshot sao lidas do banco, no lugar do scan completo da tabela.
+ *
+ * Leituras sao otimistas (StampedLock); escritas pegam o write lock.
+ */
+@Component
+public class PixKeyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixKeyIndex.class);
+    private static final String SNAPSHOT_FILE = "pix-key-index.snapshot";
+
+    private final PixKeyRepository pixKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration commitLag;
+    private final Path snapshotDir;
+    private final Duration snapshotMaxAge;
+
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile KeyIndex current;
+    // Escritas feitas enquanto uma carga preenche o proximo indice, reaplicadas nele na troca;
+    // null fora da carga e so acessado com o write lock
+    private List<Change> pending;
+    private volatile LocalDateTime refreshedAt;
+    // null sem snapshot-dir ou se o log nao abriu
+    private volatile KeyChangeLog changeLog;
+
+    public PixKeyIndex(PixKeyRepository pixKeyRepository,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${pix.key-index.enabled:true}") boolean enabled,
+                       @Value("${pix.key-index.commit-lag:30s}") Duration commitLag,
+                       @Value("${pix.key-index.snapshot-dir:}") String snapshotDir,
+                       @Value("${pix.key-index.snapshot-max-age:24h}") Duration snapshotMaxAge) {
+        this.pixKeyRepository = pixKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.commitLag = commitLag;
+        this.snapshotDir = snapshotDir.isBlank() ? null : Path.of(snapshotDir);
+        this.snapshotMaxAge = snapshotMaxAge;
+
+        Gauge.builder("pix.key.index.entries", this, index -> index.current == null ? 0 : index.current.size())
+                .register(meterRegistry);
+        Gauge.builder("pix.key.index.memory", this, index -> index.current == null ? 0 : index.current.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    // Sem indice carregado responde "contem", para quem chama seguir para o banco
+    public boolean contains(String keyValue) {
+        if (current == null) {
+            return true;
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        boolean contains = current.contains(keyValue);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                contains = current.contains(keyValue);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return contains;
+    }
+
+    public void put(String keyValue) {
+        long stamp = lock.writeLock();
+        try {
+            if (current != null) {
+                current.add(keyValue);
+            }
+            if (pending != null) {
+                pending.add(new Change(keyValue, false));
+            }
+            if (changeLog != null) {
+                changeLog.put(keyValue);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // So depois do commit: se a desativaçao voltar atras, o indice nao pode ter perdido uma chave ativa
+    public void remove(String keyValue) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removeNow(keyValue);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removeNow(keyValue);
+            }
+        });
+    }
+
+    private void removeNow(String keyValue) {
+        long stamp = lock.writeLock();
+        try {
+            if (current != null) {
+                current.remove(keyValue);
+            }
+            if (pending != null) {
+                pending.add(new Change(keyValue, true));
+            }
+            if (changeLog != null) {
+                changeLog.remove(keyValue);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        KeyIndex index = current;
+        return index == null ? 0 : index.size();
+    }
+
+    public long memoryBytes() {
+        KeyIndex index = current;
+        return index == null ? 0 : index.memoryBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (snapshotDir != null) {
+            openChangeLog();
+        }
+        if (changeLog == null || !restore()) {
+            rebuild();
+        }
+    }
+
+    private void openChangeLog() {
+        KeyChangeLog log = new KeyChangeLog(snapshotDir);
+        try {
+            log.open();
+        } catch (IOException e) {
+            logger.warn("Failed to open PixKey index change log in {}, snapshots disabled", snapshotDir, e);
+            return;
+        }
+        changeLog = log;
+    }
+
+    // Snapshot + log deste no + chaves criadas no banco depois do snapshot; false quando e preciso o rebuild completo
+    boolean restore() {
+        Path file = snapshotDir.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        loadLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            KeyIndexSnapshot.Loaded loaded = KeyIndexSnapshot.read(file);
+            if (loaded.coveredUntil().isBefore(LocalDateTime.now().minus(snapshotMaxAge))) {
+                logger.info("PixKey index snapshot from {} is older than {}, rebuilding", loaded.coveredUntil(), snapshotMaxAge);
+                return false;
+            }
+
+            long generation = startPending(false);
+            KeyIndex next = loaded.index();
+            long replayed = changeLog.replay(loaded.generation(), generation, next);
+
+            LocalDateTime now = LocalDateTime.now();
+            pixKeyRepository.findActiveKeyValuesCreatedSince(loaded.coveredUntil().minus(commitLag)).forEach(next::add);
+
+            publish(next);
+            refreshedAt = now;
+            logger.info("PixKey index restored from snapshot. Keys: {}, replayed changes: {}, memory: {} bytes, took {} ms",
+                    next.size(), replayed, next.memoryBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            discardPending();
+            logger.warn("Failed to restore PixKey index from {}, rebuilding", file, e);
+            return false;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pix.key-index.rebuild-interval:PT1H}", initialDelayString = "${pix.key-index.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled || !loadLock.tryLock()) {
+            return;
+        }
+
+        try {
+            long startedAt = System.nanoTime();
+            LocalDateTime since = LocalDateTime.now().minus(commitLag);
+
+            // next so fica visivel na troca, entao e preenchido sem lock; as escritas concorrentes vao para pending
+            long generation = startPending(true);
+            KeyIndex next = new KeyIndex();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> keyValues = pixKeyRepository.streamActiveKeyValues()) {
+                    keyValues.forEach(next::add);
+                }
+            });
+            // Chaves gravadas por transaçoes que ainda nao tinham commitado quando a leitura começou
+            pixKeyRepository.findActiveKeyValuesCreatedSince(since).forEach(next::add);
+
+            writeSnapshot(next, since, generation);
+            publish(next);
+            refreshedAt = since;
+            logger.info("PixKey index rebuilt. Keys: {}, memory: {} bytes, took {} ms",
+                    next.size(), next.memoryBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            discardPending();
+            logger.error("Failed to rebuild PixKey index, keeping the previous one", e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Chaves criadas por outros nos desde o ultimo refresh, com folga para transaçoes que commitaram depois
+    @Scheduled(fixedDelayString = "${pix.key-index.refresh-interval:PT5S}", initialDelayString = "${pix.key-index.refresh-interval:PT5S}")
+    public void refresh() {
+        if (current == null || !loadLock.tryLock()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            // fora do log: na subida essas chaves voltam pela consulta ao banco a partir do snapshot
+            List<String> keyValues = pixKeyRepository.findActiveKeyValuesCreatedSince(refreshedAt.minus(commitLag));
+            if (!keyValues.isEmpty()) {
+                long stamp = lock.writeLock();
+                try {
+                    keyValues.forEach(current::add);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            refreshedAt = now;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh PixKey index", e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // O indice ainda nao foi publicado, entao ninguem mais o altera: e gravado sem lock e sem copia. As escritas
+    // feitas durante a carga ficam de fora dele, mas estao nas geraçoes do log a partir de generation
+    private void writeSnapshot(KeyIndex index, LocalDateTime coveredUntil, long generation) {
+        KeyChangeLog log = changeLog;
+        if (log == null) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            KeyIndexSnapshot.write(snapshotDir.resolve(SNAPSHOT_FILE), index, coveredUntil, generation);
+            log.deleteBefore(generation);
+            logger.info("PixKey index snapshot written. Keys: {}, took {} ms", index.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Failed to write PixKey index snapshot to {}", snapshotDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        KeyChangeLog log;
+        long stamp = lock.writeLock();
+        try {
+            log = changeLog;
+            changeLog = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close PixKey index change log", e);
+            }
+        }
+    }
+
+    // Abre a lista de pendentes e devolve a geraçao do log a partir da qual as escritas nao estao no indice em carga.
+    // No rebuild o log troca de geraçao aqui, junto com a abertura da lista, entao as duas cobrem as mesmas escritas
+    private long startPending(boolean rotateLog) {
+        long stamp = lock.writeLock();
+        try {
+            pending = new ArrayList<>();
+            KeyChangeLog log = changeLog;
+            if (log == null) {
+                return 0;
+            }
+            return rotateLog ? log.rotate() : log.generation();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Unico ponto da carga com o write lock: reaplica as escritas feitas durante a carga e troca o indice
+    private void publish(KeyIndex next) {
+        long stamp = lock.writeLock();
+        try {
+            for (Change change : pending) {
+                if (change.removed()) {
+                    next.remove(change.keyValue());
+                } else {
+                    next.add(change.keyValue());
+                }
+            }
+            current = next;
+            pending = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void discardPending() {
+        long stamp = lock.writeLock();
+        try {
+            pending = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private record Change(String keyValue, boolean removed) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.cadastro.pix.index;
+
+/**
+ * Conjunto de UUIDs em dois longs ({@code most}, {@code least}), mesmo esquema de
+ * {@link LongHashSet}. O par (0, 0) marca slot livre e nao pode ser usado.
+ */
+final class UuidHashSet {
+
+    final long[] most;
+    final long[] least;
+    private final int mask;
+    private int size;
+
+    UuidHashSet(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        this.most = new long[capacity];
+        this.least = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    UuidHashSet(long[] most, long[] least, int size) {
+        this.most = most;
+        this.least = least;
+        this.mask = most.length - 1;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return most.length * 2L * Long.BYTES;
+    }
+
+    boolean isFull() {
+        return (size + 1) * 2L > most.length;
+    }
+
+    UuidHashSet grow() {
+        UuidHashSet grown = new UuidHashSet(most.length);
+        for (int i = 0; i < most.length; i++) {
+            if (!isFree(i)) {
+                grown.add(most[i], least[i]);
+            }
+        }
+        return grown;
+    }
+
+    boolean contains(long mostBits, long leastBits) {
+        int index = slot(mostBits, leastBits);
+        for (int probes = 0; probes <= mask; probes++) {
+            if (most[index] == mostBits && least[index] == leastBits) {
+                return true;
+            }
+            if (isFree(index)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    void add(long mostBits, long leastBits) {
+        int index = slot(mostBits, leastBits);
+        while (!isFree(index) && (most[index] != mostBits || least[index] != leastBits)) {
+            index = (index + 1) & mask;
+        }
+        if (isFree(index)) {
+            size++;
+            least[index] = leastBits;
+            most[index] = mostBits;
+        }
+    }
+
+    boolean remove(long mostBits, long leastBits) {
+        int index = slot(mostBits, leastBits);
+        while (most[index] != mostBits || least[index] != leastBits) {
+            if (isFree(index)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (!isFree(next)) {
+            int home = slot(most[next], least[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                most[hole] = most[next];
+                least[hole] = least[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        most[hole] = 0;
+        least[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private boolean isFree(int index) {
+        return most[index] == 0 && least[index] == 0;
+    }
+
+    private int slot(long mostBits, long leastBits) {
+        return (int) Hashing.mix(mostBits ^ Hashing.mix(leastBits)) & mask;
+    }
+}
@@ -1,6 +1,9 @@
 package com.cadastro.pix.interfaces;
 
-import java.util.UUID;
-
 public interface BaseDTO {
-}
\ No newline at end of file
+
+    // Quantidade de elementos da resposta, usada no log resumido; DTOs de lista sobrescrevem
+    default int elementCount() {
+        return 1;
+    }
+}
@@ -18,7 +18,7 @@ import java.util.UUID;
 public interface AccountService {
     public RespDTO createAccount(CreateAccountDTO newAccountDTO);
 
-    public RespDTO findAllAccounts();
+    public RespDTO findAllAccounts(String cursor, Integer size);
 
     public RespDTO findAccountById(UUID id);
 
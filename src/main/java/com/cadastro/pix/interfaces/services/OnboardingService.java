@@ -0,0 +1,13 @@
+package com.cadastro.pix.interfaces.services;
+
+import com.cadastro.pix.dto.resp.RespDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface OnboardingService {
+    public RespDTO startOnboarding(InputStream file, String contentType) throws IOException;
+
+    public RespDTO findOnboardingJob(UUID id);
+}
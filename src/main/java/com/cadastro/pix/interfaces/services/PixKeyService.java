@@ -13,6 +13,8 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -22,10 +24,16 @@ import java.util.UUID;
 public interface PixKeyService {
     public RespDTO createPixKey(CreatePixKeyDTO createPixKeyDTO);
 
-    public RespDTO findAllPixKeys();
+    public RespDTO createPixKeys(List<CreatePixKeyDTO> createPixKeyDTOs);
+
+    public RespDTO findAllPixKeys(String cursor, Integer size);
+
+    public void exportPixKeys(OutputStream outputStream) throws IOException;
 
     public RespDTO findPixKeyById(UUID id);
 
+    public RespDTO resolvePixKey(String keyValue);
+
     public RespDTO findPixKeysByType(String keyType);
 
     public RespDTO findPixKeysByAgencyAndAccount(int agencyNumber, int accountNumber);
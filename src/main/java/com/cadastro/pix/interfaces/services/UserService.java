@@ -16,7 +16,7 @@ import java.util.UUID;
 public interface UserService {
     public RespDTO createUser(User user);
 
-    public RespDTO findAllUsers();
+    public RespDTO findAllUsers(String cursor, Integer size);
 
     public RespDTO findUserById(UUID id);
 
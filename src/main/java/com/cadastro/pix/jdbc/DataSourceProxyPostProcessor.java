@@ -0,0 +1,36 @@
+package com.cadastro.pix.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o DataSource com o datasource-proxy: conta os statements executados na thread (QueryCountHolder,
+ * lido por requisiçao em RequestQueryCount) e loga as queries lentas.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final SlowQueryListener slowQueryListener;
+
+    public DataSourceProxyPostProcessor(@Value("${pix.jdbc.slow-query.threshold:500ms}") Duration slowQueryThreshold,
+                                        @Value("${pix.jdbc.slow-query.log-parameters:false}") boolean logParameters) {
+        this.slowQueryListener = new SlowQueryListener(slowQueryThreshold, logParameters);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .countQuery()
+                    .listener(slowQueryListener)
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cadastro.pix.jdbc;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/**
+ * Statements JDBC executados pela thread atual desde o ultimo reset, somando todos os DataSources.
+ * O RequestTaggingFilter zera no inicio e no fim de cada requisiçao; queries feitas em outras
+ * threads (jobs de onboarding, tarefas agendadas) nao entram na conta da requisiçao.
+ */
+public final class RequestQueryCount {
+
+    private RequestQueryCount() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount current() {
+        return QueryCountHolder.getGrandTotal();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cadastro.pix.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Loga em WARN as execuçoes JDBC que levaram pix.jdbc.slow-query.threshold ou mais.
+ * Os parametros de bind so entram no log quando pix.jdbc.slow-query.log-parameters=true (desligado por padrao):
+ * eles podem conter CPF, e-mail e telefone, entao ligue apenas em ambientes onde o log pode ter dados pessoais.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private final long thresholdMillis;
+    private final boolean logParameters;
+    private final DefaultQueryLogEntryCreator entryCreator = new DefaultQueryLogEntryCreator();
+
+    public SlowQueryListener(Duration threshold, boolean logParameters) {
+        this.thresholdMillis = threshold.toMillis();
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (thresholdMillis <= 0 || execInfo.getElapsedTime() < thresholdMillis || !logger.isWarnEnabled()) {
+            return;
+        }
+
+        logger.warn("Slow query ({} ms): {}", execInfo.getElapsedTime(), logParameters
+                ? entryCreator.getLogEntry(execInfo, queryInfoList, false, false, false)
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+    }
+}
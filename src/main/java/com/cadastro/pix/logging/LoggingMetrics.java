@@ -0,0 +1,47 @@
+package com.cadastro.pix.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Profundidade da fila e eventos descartados de cada MeteredAsyncAppender ligado ao root logger.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            bindTo(registry, context);
+        }
+    }
+
+    void bindTo(MeterRegistry registry, LoggerContext context) {
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                Gauge.builder("logging.async.queue.depth", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                        .tag("appender", appender.getName())
+                        .description("Log events waiting to be written")
+                        .register(registry);
+                Gauge.builder("logging.async.queue.capacity", appender, MeteredAsyncAppender::getQueueSize)
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                FunctionCounter.builder("logging.async.discarded", appender, MeteredAsyncAppender::getDiscardedCount)
+                        .tag("appender", appender.getName())
+                        .description("Log events dropped because the queue was full")
+                        .register(registry);
+            }
+        }
+    }
+}
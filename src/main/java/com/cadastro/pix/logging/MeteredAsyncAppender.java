@@ -0,0 +1,32 @@
+package com.cadastro.pix.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender do logback que conta os eventos descartados, publicados como metrica pelo LoggingMetrics.
+ *
+ * Um evento e descartado quando a fila tem menos de discardingThreshold posiçoes livres e o nivel e INFO
+ * ou abaixo, ou quando a fila esta cheia e neverBlock esta ligado (nesse caso qualquer nivel).
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted()) {
+            int remaining = getRemainingCapacity();
+            if ((remaining < getDiscardingThreshold() && isDiscardable(event)) || (isNeverBlock() && remaining == 0)) {
+                discarded.increment();
+            }
+        }
+        super.append(event);
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+}
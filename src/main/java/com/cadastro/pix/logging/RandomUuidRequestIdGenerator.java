@@ -0,0 +1,20 @@
+package com.cadastro.pix.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * UUID aleatorio por requisiçao (comportamento anterior). Sorteia do SecureRandom compartilhado,
+ * que vira ponto de contençao com muitas requisiçoes simultaneas.
+ */
+@Component
+@ConditionalOnProperty(name = "pix.request-id.generator", havingValue = "uuid")
+public class RandomUuidRequestIdGenerator implements RequestIdGenerator {
+
+    @Override
+    public String next() {
+        return UUID.randomUUID().toString();
+    }
+}
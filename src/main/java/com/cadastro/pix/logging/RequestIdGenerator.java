@@ -0,0 +1,10 @@
+package com.cadastro.pix.logging;
+
+/**
+ * Gera o id de correlaçao das requisiçoes que chegam sem X-Request-Id.
+ * A implementaçao e escolhida por pix.request-id.generator (sequence ou uuid).
+ */
+public interface RequestIdGenerator {
+
+    String next();
+}
@@ -1,6 +1,10 @@
 package com.cadastro.pix.logging;
 
+import com.cadastro.pix.jdbc.RequestQueryCount;
 import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -8,7 +12,6 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Component
 @Order(1)
@@ -16,14 +19,63 @@ public class RequestTaggingFilter implements Filter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RequestTaggingFilter.class);
 
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "reqId";
+
+    // System.nanoTime() do inicio da requisiçao, para a latencia no log de resposta
+    public static final String START_NANOS_ATTRIBUTE = RequestTaggingFilter.class.getName() + ".startNanos";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final RequestIdGenerator requestIdGenerator;
+
+    public RequestTaggingFilter(RequestIdGenerator requestIdGenerator) {
+        this.requestIdGenerator = requestIdGenerator;
+    }
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
-        MDC.put("reqId", UUID.randomUUID().toString());
+        servletRequest.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+
+        String requestId = servletRequest instanceof HttpServletRequest request
+                ? request.getHeader(REQUEST_ID_HEADER) : null;
+        if (!isValidRequestId(requestId)) {
+            requestId = requestIdGenerator.next();
+        }
+        if (servletResponse instanceof HttpServletResponse response) {
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+        }
 
-        LOGGER.info("Start of request");
+        MDC.put(MDC_KEY, requestId);
+        RequestQueryCount.reset();
+        try {
+            LOGGER.info("Start of request");
 
-        filterChain.doFilter(servletRequest, servletResponse);
+            filterChain.doFilter(servletRequest, servletResponse);
+
+            if (LOGGER.isInfoEnabled()) {
+                QueryCount queries = RequestQueryCount.current();
+                LOGGER.info("End of request [statements={}, statementTimeMs={}]", queries.getTotal(), queries.getTime());
+            }
+        } finally {
+            RequestQueryCount.reset();
+            MDC.remove(MDC_KEY);
+        }
+    }
 
-        LOGGER.info("End of request");
+    // aceita o id do cliente/gateway so se for curto e sem caracteres que quebrem a linha de log
+    static boolean isValidRequestId(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.cadastro.pix.logging;
+
+import com.cadastro.pix.dto.resp.RespDTO;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Como os controllers logam a resposta (pix.logging.response.mode):
+ * summary: status, tipo do DTO, quantidade de elementos e latencia, sem toString do DTO;
+ * sampled: o RespDTO inteiro numa fraçao das respostas (pix.logging.response.sample-rate) e o resumo nas demais;
+ * off: nada.
+ */
+@Component
+public class ResponseLoggingPolicy {
+
+    public enum Mode {
+        SUMMARY, SAMPLED, OFF
+    }
+
+    private final Mode mode;
+    private final double sampleRate;
+
+    public ResponseLoggingPolicy(@Value("${pix.logging.response.mode:summary}") String mode,
+                                 @Value("${pix.logging.response.sample-rate:0.01}") double sampleRate) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.sampleRate = sampleRate;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void log(Logger logger, String message, RespDTO respDTO) {
+        if (mode == Mode.OFF || !logger.isInfoEnabled()) {
+            return;
+        }
+
+        if (mode == Mode.SAMPLED && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("{}: {}", message, respDTO);
+            return;
+        }
+
+        logger.info("{} [status={}, type={}, elements={}, latencyMs={}]", message,
+                respDTO.getHttpStatus().value(),
+                respDTO.getData() == null ? "none" : respDTO.getData().getClass().getSimpleName(),
+                respDTO.getData() == null ? 0 : respDTO.getData().elementCount(),
+                latencyMillis());
+    }
+
+    private static long latencyMillis() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object startNanos = attributes == null ? null
+                : attributes.getAttribute(RequestTaggingFilter.START_NANOS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return startNanos instanceof Long start ? (System.nanoTime() - start) / 1_000_000 : -1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.cadastro.pix.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids no formato prefixo-sequencia, sem SecureRandom por requisiçao.
+ * Cada thread reserva um bloco de BLOCK_SIZE valores do contador global e consome o bloco localmente,
+ * entao o AtomicLong compartilhado so e tocado uma vez a cada BLOCK_SIZE ids. Com threads virtuais
+ * (spring.threads.virtual.enabled) cada requisiçao roda numa thread nova, que usaria um id do bloco e
+ * descartaria o resto junto com o ThreadLocal: nesse modo cada id sai direto do contador.
+ * O prefixo identifica o processo: pix.request-id.node-prefix, ou 8 caracteres aleatorios sorteados na subida,
+ * ja que a sequencia recomeça do zero a cada restart.
+ */
+@Component
+@ConditionalOnProperty(name = "pix.request-id.generator", havingValue = "sequence", matchIfMissing = true)
+public class SequenceRequestIdGenerator implements RequestIdGenerator {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final String prefix;
+    private final AtomicLong counter = new AtomicLong();
+    private final ThreadLocal<long[]> block;
+
+    public SequenceRequestIdGenerator(@Value("${pix.request-id.node-prefix:}") String nodePrefix,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.prefix = (nodePrefix == null || nodePrefix.isBlank() ? randomPrefix() : nodePrefix.trim()) + "-";
+        this.block = virtualThreads ? null : ThreadLocal.withInitial(() -> new long[]{0, 0});
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public String next() {
+        if (block == null) {
+            return prefix + toBase36(counter.getAndIncrement());
+        }
+        // [0] proximo valor, [1] fim (exclusivo) do bloco reservado pela thread
+        long[] range = block.get();
+        if (range[0] == range[1]) {
+            range[0] = counter.getAndAdd(BLOCK_SIZE);
+            range[1] = range[0] + BLOCK_SIZE;
+        }
+        return prefix + toBase36(range[0]++);
+    }
+
+    private static String toBase36(long value) {
+        char[] buffer = new char[13];
+        int position = buffer.length;
+        do {
+            buffer[--position] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        } while (value > 0);
+        return new String(buffer, position, buffer.length - position);
+    }
+
+    private static String randomPrefix() {
+        SecureRandom random = new SecureRandom();
+        char[] chars = new char[8];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = DIGITS[random.nextInt(DIGITS.length)];
+        }
+        return new String(chars);
+    }
+}
@@ -3,13 +3,13 @@ package com.cadastro.pix.logging;
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.pattern.ClassicConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import org.slf4j.MDC;
 
 public class UUIDConverter extends ClassicConverter {
 
     @Override
     public String convert(ILoggingEvent event) {
-        return MDC.get("reqId");
+        // MDC capturado no evento: com o appender assincrono a conversao roda em outra thread
+        return event.getMDCPropertyMap().get(RequestTaggingFilter.MDC_KEY);
     }
 
     public static void register() {
@@ -0,0 +1,29 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.stereotype.Component;
+
+/**
+ * As propriedades management.metrics.distribution.*.http.server.requests valem por prefixo e tambem
+ * ligariam histograma e percentis no http.server.requests.active (requisiçoes em andamento por rota).
+ * Para esse medidor so interessam a contagem e a duraçao maxima, entao a distribuiçao e desligada.
+ * Roda depois do filtro das propriedades (que tem @Order(0)).
+ */
+@Component
+public class HttpServerMetricsFilter implements MeterFilter {
+
+    static final String ACTIVE_REQUESTS = "http.server.requests.active";
+
+    private static final DistributionStatisticConfig NO_DISTRIBUTION = DistributionStatisticConfig.builder()
+            .percentilesHistogram(false)
+            .percentiles()
+            .serviceLevelObjectives()
+            .build();
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        return ACTIVE_REQUESTS.equals(id.getName()) ? NO_DISTRIBUTION.merge(config) : config;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Registra em pix.repository.rows (tags repository e method) quantas linhas cada metodo dos repositories devolveu.
+ * O tempo por metodo ja vem do spring.data.repository.invocations do actuator, com as mesmas tags.
+ * Metodos que devolvem Stream nao sao contados, ja que consumir o stream aqui mudaria o comportamento.
+ */
+@Component
+public class RepositoryRowCountPostProcessor implements BeanPostProcessor {
+
+    static final String METRIC_NAME = "pix.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new RowCountInterceptor(meterRegistry, information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    // -1 quando o retorno nao indica quantidade de linhas (void, exists, Stream)
+    static long rowCount(Method method, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number && method.isAnnotationPresent(Modifying.class)) {
+            // linhas afetadas pelo update/delete; nos demais metodos um numero e uma unica linha (count, sum)
+            return number.longValue();
+        }
+        if (result instanceof Boolean || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    static class RowCountInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+
+            long rows = rowCount(invocation.getMethod(), result);
+            if (rows >= 0) {
+                DistributionSummary summary = summaries.computeIfAbsent(invocation.getMethod(), this::register);
+                if (summary != null) {
+                    summary.record(rows);
+                }
+            }
+            return result;
+        }
+
+        private DistributionSummary register(Method method) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry == null ? null : DistributionSummary.builder(METRIC_NAME)
+                    .description("Rows returned or affected per repository call")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Com threads virtuais, uma thread que bloqueia dentro de um synchronized (ou de codigo nativo) prende a
+ * thread carregadora, e com poucas carregadoras isso trava o servidor. O evento JFR jdk.VirtualThreadPinned
+ * (JDK 21+) e acompanhado por um RecordingStream na propria aplicaçao: cada ocorrencia acima de
+ * {@code pix.threads.pinning.threshold} entra no timer pix.threads.virtual.pinned, com a classe responsavel
+ * (o primeiro frame fora do JDK, por exemplo o driver JDBC) na tag source, e a primeira de cada classe vai
+ * para o log com a pilha.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${pix.threads.pinning.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            logger.warn("spring.threads.virtual.enabled needs Java 21+, running on {}; requests stay on platform threads",
+                    Runtime.version());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started. Threshold: {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .toList();
+        String source = source(frames);
+
+        Timer.builder("pix.threads.virtual.pinned")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reported.add(source)) {
+            logger.warn("Virtual thread pinned its carrier for {} ms in {}:\n\tat {}",
+                    event.getDuration().toMillis(), source, String.join("\n\tat ", frames));
+        }
+    }
+
+    // Classe do primeiro frame fora do JDK na pilha do bloqueio (por exemplo o driver JDBC); quem segurou o
+    // monitor esta mais abaixo, na pilha completa do log
+    static String source(List<String> frames) {
+        for (String frame : frames) {
+            if (JDK_PACKAGES.stream().noneMatch(frame::startsWith)) {
+                return frame.substring(0, frame.lastIndexOf('.'));
+            }
+        }
+        return frames.isEmpty() ? "unknown" : "jdk";
+    }
+}
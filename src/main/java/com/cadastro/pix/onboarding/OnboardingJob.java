@@ -0,0 +1,117 @@
+package com.cadastro.pix.onboarding;
+
+import com.cadastro.pix.dto.onboarding.OnboardingRowErrorDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de um onboarding em andamento. Atualizado so pela thread do job e lido pelas requisiçoes de status.
+ * Guarda no maximo MAX_ERRORS erros de linha; o total de rejeitadas continua sendo contado.
+ */
+public class OnboardingJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public static final int MAX_ERRORS = 1000;
+
+    private final UUID id;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong usersCreated = new AtomicLong();
+    private final AtomicLong accountsCreated = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<OnboardingRowErrorDTO> errors = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String failure;
+    private volatile LocalDateTime finishedAt;
+
+    public OnboardingJob(UUID id) {
+        this.id = id;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        failure = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void created(int users, int accounts) {
+        usersCreated.addAndGet(users);
+        accountsCreated.addAndGet(accounts);
+    }
+
+    public void reject(long line, String message) {
+        rowsRejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new OnboardingRowErrorDTO(line, message));
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public List<OnboardingRowErrorDTO> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getUsersCreated() {
+        return usersCreated.get();
+    }
+
+    public long getAccountsCreated() {
+        return accountsCreated.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+}
@@ -0,0 +1,51 @@
+package com.cadastro.pix.onboarding;
+
+import com.cadastro.pix.exception.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jobs de onboarding deste no, mantidos em memoria ate passar o tempo de retençao depois de terminarem.
+ */
+@Component
+public class OnboardingJobRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingJobRegistry.class);
+
+    private final Map<UUID, OnboardingJob> jobs = new ConcurrentHashMap<>();
+    private final Duration retention;
+
+    public OnboardingJobRegistry(@Value("${pix.onboarding.job-retention:PT24H}") Duration retention) {
+        this.retention = retention;
+    }
+
+    public OnboardingJob create() {
+        OnboardingJob job = new OnboardingJob(UUID.randomUUID());
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public OnboardingJob get(UUID id) {
+        OnboardingJob job = jobs.get(id);
+        if (job == null) {
+            logger.error("Onboarding job not found for ID: {}", id);
+            throw new EntityNotFoundException("Onboarding job not found");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void evictFinished() {
+        LocalDateTime limit = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(limit));
+    }
+}
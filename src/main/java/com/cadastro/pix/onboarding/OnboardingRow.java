@@ -0,0 +1,35 @@
+package com.cadastro.pix.onboarding;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.onboarding.OnboardingRowDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Uma linha do arquivo passando pelo pipeline: lida, validada e, se nao rejeitada, gravada.
+ */
+@Getter
+@Setter
+public class OnboardingRow {
+    private final long line;
+    private final OnboardingRowDTO data;
+    private String error;
+    private User user;
+    private Account account;
+
+    public OnboardingRow(long line, OnboardingRowDTO data) {
+        this.line = line;
+        this.data = data;
+    }
+
+    public static OnboardingRow rejected(long line, String error) {
+        OnboardingRow row = new OnboardingRow(line, null);
+        row.setError(error);
+        return row;
+    }
+
+    public boolean isRejected() {
+        return error != null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.cadastro.pix.onboarding;
+
+import com.cadastro.pix.dto.onboarding.OnboardingRowDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Le o arquivo de onboarding linha a linha (CSV com cabeçalho ou NDJSON), sem carregar o arquivo inteiro.
+ * Linhas mal formadas viram linhas rejeitadas em vez de interromper a leitura.
+ */
+public class OnboardingRowReader implements Closeable {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private String[] header;
+    private long line;
+
+    public OnboardingRowReader(BufferedReader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+
+        if (format == Format.CSV) {
+            String headerLine = reader.readLine();
+            line++;
+            if (headerLine == null || headerLine.isBlank()) {
+                throw new IllegalArgumentException("CSV file must start with a header line");
+            }
+            List<String> columns = splitCsvLine(stripBom(headerLine));
+            header = columns.stream().map(String::trim).toArray(String[]::new);
+        }
+    }
+
+    /** Proxima linha nao vazia, ou null no fim do arquivo. */
+    public OnboardingRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        try {
+            OnboardingRowDTO data = format == Format.CSV ? parseCsv(text) : objectMapper.readValue(text, OnboardingRowDTO.class);
+            return new OnboardingRow(line, data);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return OnboardingRow.rejected(line, "Invalid row format");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private OnboardingRowDTO parseCsv(String text) {
+        List<String> values = splitCsvLine(text);
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " columns");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String value = values.get(i).trim();
+            fields.put(header[i], value.isEmpty() ? null : value);
+        }
+        return objectMapper.convertValue(fields, OnboardingRowDTO.class);
+    }
+
+    // RFC 4180 sem quebra de linha dentro de aspas
+    static List<String> splitCsvLine(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String stripBom(String text) {
+        return !text.isEmpty() && text.charAt(0) == '﻿' ? text.substring(1) : text;
+    }
+}
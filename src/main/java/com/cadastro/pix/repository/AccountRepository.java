@@ -1,13 +1,69 @@
 package com.cadastro.pix.repository;
 
 import com.cadastro.pix.domain.account.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findById(UUID id);
     Account findByAgencyNumberAndAccountNumber(Integer numeroAgencia, Integer numeroConta);
-}
\ No newline at end of file
+
+    // O par agencia/conta e filtrado em memoria; o numero da conta sozinho ja e bem seletivo
+    List<Account> findByAccountNumberIn(Collection<Integer> accountNumbers);
+
+    @EntityGraph(attributePaths = {"user"})
+    Account findWithUserByAgencyNumberAndAccountNumber(Integer numeroAgencia, Integer numeroConta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT a FROM Account a ORDER BY a.createdAt, a.id")
+    List<Account> findFirstPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT a FROM Account a WHERE a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.id > :id) ORDER BY a.createdAt, a.id")
+    List<Account> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+    // Incrementa o contador so se ainda houver vaga (e, para cpf/cnpj, se o tipo ainda nao existir).
+    // Retorna 0 quando a condiçao falha; a linha fica bloqueada ate o fim da transaçao.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.activeKeyCount = a.activeKeyCount + 1, " +
+            "a.hasCpfKey = CASE WHEN :keyType = 'cpf' THEN true ELSE a.hasCpfKey END, " +
+            "a.hasCnpjKey = CASE WHEN :keyType = 'cnpj' THEN true ELSE a.hasCnpjKey END " +
+            "WHERE a.id = :id AND a.activeKeyCount < :limit " +
+            "AND (:keyType <> 'cpf' OR a.hasCpfKey = false) " +
+            "AND (:keyType <> 'cnpj' OR a.hasCnpjKey = false)")
+    int reservePixKeySlot(@Param("id") UUID id, @Param("keyType") String keyType, @Param("limit") int limit);
+
+    // Versao em lote do reservePixKeySlot: reserva count vagas de uma vez para a conta
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.activeKeyCount = a.activeKeyCount + :count, " +
+            "a.hasCpfKey = CASE WHEN :cpf = true THEN true ELSE a.hasCpfKey END, " +
+            "a.hasCnpjKey = CASE WHEN :cnpj = true THEN true ELSE a.hasCnpjKey END " +
+            "WHERE a.id = :id AND a.activeKeyCount + :count <= :limit " +
+            "AND (:cpf = false OR a.hasCpfKey = false) " +
+            "AND (:cnpj = false OR a.hasCnpjKey = false)")
+    int reservePixKeySlots(@Param("id") UUID id, @Param("count") int count, @Param("cpf") boolean cpf,
+                           @Param("cnpj") boolean cnpj, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.activeKeyCount = a.activeKeyCount - 1, " +
+            "a.hasCpfKey = CASE WHEN :keyType = 'cpf' THEN false ELSE a.hasCpfKey END, " +
+            "a.hasCnpjKey = CASE WHEN :keyType = 'cnpj' THEN false ELSE a.hasCnpjKey END " +
+            "WHERE a.id = :id AND a.activeKeyCount > 0")
+    int releasePixKeySlot(@Param("id") UUID id, @Param("keyType") String keyType);
+}
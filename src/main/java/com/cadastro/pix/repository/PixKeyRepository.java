@@ -1,29 +1,78 @@
 package com.cadastro.pix.repository;
 
 import com.cadastro.pix.domain.pixKey.PixKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PixKeyRepository extends JpaRepository<PixKey, UUID> {
     boolean existsByKeyValueAndActive(String keyValue, boolean active);
 
+    @Query("SELECT p.keyValue FROM PixKey p WHERE p.active = true AND p.keyValue IN :keyValues")
+    List<String> findActiveKeyValuesIn(@Param("keyValues") Collection<String> keyValues);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
+    PixKey findFirstByKeyValueAndActive(String keyValue, boolean active);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
     @Query("SELECT p FROM PixKey p WHERE p.account.user.userName = :userName")
     List<PixKey> findByUserName(@Param("userName") String userName);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
     @Query("SELECT p FROM PixKey p WHERE p.createdAt >= :startOfDay AND p.createdAt < :endOfDay")
     List<PixKey> findByCreatedAtBetween(@Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
     @Query("SELECT p FROM PixKey p WHERE p.inactivatedAt >= :startOfDay AND p.createdAt < :endOfDay")
     List<PixKey> findByInactivatedAtBetween(@Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
     List<PixKey> findByKeyType(String keyType);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
+    @Query("SELECT p FROM PixKey p ORDER BY p.createdAt, p.id")
+    List<PixKey> findFirstPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"account", "account.user"})
+    @Query("SELECT p FROM PixKey p WHERE p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id) ORDER BY p.createdAt, p.id")
+    List<PixKey> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+    // Integer.MIN_VALUE faz o driver MySQL ler o resultado linha a linha (cursor forward-only)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PixKey p JOIN FETCH p.account a JOIN FETCH a.user")
+    Stream<PixKey> streamAll();
+
+    long countByActive(boolean active);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("SELECT p.keyValue FROM PixKey p WHERE p.active = true")
+    Stream<String> streamActiveKeyValues();
+
+    @Query("SELECT p.keyValue FROM PixKey p WHERE p.active = true AND p.createdAt >= :since")
+    List<String> findActiveKeyValuesCreatedSince(@Param("since") LocalDateTime since);
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.cadastro.pix.service;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.dto.account.CreateAccountDTO;
 import com.cadastro.pix.dto.account.SimpleAccountListWithUserDTO;
@@ -10,14 +12,16 @@ import com.cadastro.pix.exception.EntityNotFoundException;
 import com.cadastro.pix.interfaces.services.AccountService;
 import com.cadastro.pix.repository.AccountRepository;
 import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.PageCursor;
 import com.cadastro.pix.utils.Validate;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,9 +41,15 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private Validate validate;
 
+    @Autowired
+    private PixKeyResolutionCache resolutionCache;
+
+    @Autowired
+    private AccountLocatorCache accountLocatorCache;
+
     @Transactional
     public RespDTO createAccount(@Valid CreateAccountDTO newAccountDTO) {
-        logger.info("Starting account creation process for request: {}", newAccountDTO);
+        logger.debug("Starting account creation process for request: {}", newAccountDTO);
 
         User user = userRepository.findByIdentification(newAccountDTO.getIdentification());
 
@@ -50,35 +60,51 @@ public class AccountServiceImpl implements AccountService {
 
         Account account = new Account(newAccountDTO);
 
-        logger.info("Validating account: {}", account);
+        logger.debug("Validating account: {}", account);
         validate.validateCreateAccount(account);
         logger.info("Account validation successful");
 
         account.setUser(user);
         account.setActive(true);
 
-        logger.info("Saving account: {}", account);
-        SimpleAccountWithUserDTO accountDTO = new SimpleAccountWithUserDTO(accountRepository.save(account).getId());
-        logger.info("Account created successfully: {}", accountDTO);
+        logger.debug("Saving account: {}", account);
+        Account savedAccount = accountRepository.save(account);
+        accountLocatorCache.putAfterCommit(savedAccount);
+        SimpleAccountWithUserDTO accountDTO = new SimpleAccountWithUserDTO(savedAccount.getId());
+        logger.debug("Account created successfully: {}", accountDTO);
         return new RespDTO(HttpStatus.OK, accountDTO);
     }
 
-    public RespDTO findAllAccounts() {
-        logger.info("Starting process to find all accounts");
+    @Transactional(readOnly = true)
+    public RespDTO findAllAccounts(String cursor, Integer size) {
+        logger.info("Starting process to find accounts page. Cursor: {}, size: {}", cursor, size);
 
-        List<Account> accounts = accountRepository.findAll();
+        int pageSize = PageCursor.validatePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<Account> accounts = after == null
+                ? accountRepository.findFirstPage(Limit.of(pageSize + 1))
+                : accountRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1));
 
         if (accounts.isEmpty()) {
             logger.error("No Accounts found");
             throw new EntityNotFoundException("No Accounts found");
         }
+
+        String nextCursor = null;
+        if (accounts.size() > pageSize) {
+            accounts = accounts.subList(0, pageSize);
+            Account last = accounts.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
         logger.info("Number of accounts found: {}", accounts.size());
 
-        SimpleAccountListWithUserDTO accountListDTO = SimpleAccountListWithUserDTO.fromAccounts(accounts);
+        SimpleAccountListWithUserDTO accountListDTO = SimpleAccountListWithUserDTO.fromAccounts(accounts, nextCursor);
         logger.info("Accounts retrieved successfully");
         return new RespDTO(HttpStatus.OK, accountListDTO);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findAccountById(UUID id) {
         logger.info("Starting process to find account by id: {}", id);
 
@@ -89,7 +115,7 @@ public class AccountServiceImpl implements AccountService {
         }
 
         SimpleAccountWithUserDTO accountDTO = new SimpleAccountWithUserDTO(existingAccount);
-        logger.info("Account retrieved successfully: {}", accountDTO);
+        logger.debug("Account retrieved successfully: {}", accountDTO);
         return new RespDTO(HttpStatus.OK, accountDTO);
     }
 
@@ -108,17 +134,20 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("This account is inactive");
         }
 
-        logger.info("Validating fields for account update: {}", account);
+        logger.debug("Validating fields for account update: {}", account);
         validate.validateUpdateAccount(account);
+        accountLocatorCache.invalidate(existingAccount.getAgencyNumber(), existingAccount.getAccountNumber());
 
         existingAccount.setAccountType(account.getAccountType());
         existingAccount.setAgencyNumber(account.getAgencyNumber());
         existingAccount.setAccountNumber(account.getAccountNumber());
 
-        logger.info("Saving updated account: {}", existingAccount);
+        logger.debug("Saving updated account: {}", existingAccount);
         Account updatedAccount = accountRepository.save(existingAccount);
+        resolutionCache.invalidateAccount(id);
+        accountLocatorCache.invalidate(updatedAccount.getAgencyNumber(), updatedAccount.getAccountNumber());
         SimpleAccountWithUserDTO accountDTO = new SimpleAccountWithUserDTO(updatedAccount);
-        logger.info("Account updated successfully: {}", accountDTO);
+        logger.debug("Account updated successfully: {}", accountDTO);
         return new RespDTO(HttpStatus.OK, accountDTO);
     }
 
@@ -137,12 +166,14 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("This account is already inactive");
         }
 
-        logger.info("Inactivating account: {}", existingAccount);
+        logger.debug("Inactivating account: {}", existingAccount);
         existingAccount.setActive(false);
         existingAccount.setInactivatedAt(LocalDateTime.now());
 
         SimpleAccountWithUserDTO accountDTO = new SimpleAccountWithUserDTO(accountRepository.save(existingAccount));
-        logger.info("Account inactivated successfully: {}", accountDTO);
+        resolutionCache.invalidateAccount(id);
+        accountLocatorCache.invalidate(existingAccount.getAgencyNumber(), existingAccount.getAccountNumber());
+        logger.debug("Account inactivated successfully: {}", accountDTO);
         return new RespDTO(HttpStatus.OK, accountDTO);
     }
 }
\ No newline at end of file
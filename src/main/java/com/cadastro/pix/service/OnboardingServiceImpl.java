@@ -0,0 +1,343 @@
+package com.cadastro.pix.service;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.onboarding.OnboardingJobDTO;
+import com.cadastro.pix.dto.onboarding.OnboardingRowDTO;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.interfaces.services.OnboardingService;
+import com.cadastro.pix.onboarding.OnboardingJob;
+import com.cadastro.pix.onboarding.OnboardingJobRegistry;
+import com.cadastro.pix.onboarding.OnboardingRow;
+import com.cadastro.pix.onboarding.OnboardingRowReader;
+import com.cadastro.pix.repository.AccountRepository;
+import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.Validate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Onboarding em massa de usuarios e contas a partir de um arquivo CSV ou NDJSON.
+ *
+ * O upload e gravado num arquivo temporario e processado em background, em blocos de chunk-size linhas:
+ * validaçao de formato em paralelo, checagem de duplicados no banco com uma consulta por bloco e gravaçao
+ * do bloco numa transaçao com inserts em lote. Se o bloco falhar ao gravar, as linhas sao gravadas uma a uma.
+ */
+@Service
+public class OnboardingServiceImpl implements OnboardingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingServiceImpl.class);
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private Validate validate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OnboardingJobRegistry jobRegistry;
+
+    @Value("${pix.onboarding.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${pix.onboarding.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs = 2;
+
+    @Value("${pix.onboarding.validation-parallelism:0}")
+    private int validationParallelism;
+
+    private ExecutorService jobExecutor;
+    private ForkJoinPool validationPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threads = new AtomicInteger();
+        jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "onboarding-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        validationPool = new ForkJoinPool(validationParallelism > 0 ? validationParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    public RespDTO startOnboarding(InputStream file, String contentType) throws IOException {
+        OnboardingRowReader.Format format = formatOf(contentType);
+        logger.info("Starting onboarding upload. Format: {}", format);
+
+        Path path = Files.createTempFile("onboarding-", "." + format.name().toLowerCase());
+        long size;
+        try (InputStream in = file) {
+            size = Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        OnboardingJob job = jobRegistry.create();
+        // o job apaga o arquivo ao terminar, entao o tamanho vem do copy e nao do arquivo
+        jobExecutor.execute(() -> runJob(job, path, format));
+
+        logger.info("Onboarding job {} queued. File size: {} bytes", job.getId(), size);
+        return new RespDTO(HttpStatus.ACCEPTED, new OnboardingJobDTO(job));
+    }
+
+    public RespDTO findOnboardingJob(UUID id) {
+        logger.info("Fetching onboarding job by ID: {}", id);
+        return new RespDTO(HttpStatus.OK, new OnboardingJobDTO(jobRegistry.get(id)));
+    }
+
+    void runJob(OnboardingJob job, Path path, OnboardingRowReader.Format format) {
+        job.start();
+        logger.info("Onboarding job {} started", job.getId());
+
+        try (OnboardingRowReader reader = new OnboardingRowReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), format, objectMapper)) {
+            Set<String> identifications = new HashSet<>();
+            Set<String> accounts = new HashSet<>();
+            List<OnboardingRow> chunk = new ArrayList<>(chunkSize);
+
+            OnboardingRow row;
+            while ((row = reader.next()) != null) {
+                job.rowRead();
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk, identifications, accounts);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, identifications, accounts);
+            }
+
+            job.complete();
+            logger.info("Onboarding job {} completed. Rows: {}, users: {}, accounts: {}, rejected: {}", job.getId(),
+                    job.getRowsRead(), job.getUsersCreated(), job.getAccountsCreated(), job.getRowsRejected());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Onboarding job {} failed after {} rows", job.getId(), job.getRowsRead(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete onboarding file {}", path, e);
+            }
+        }
+    }
+
+    private void processChunk(OnboardingJob job, List<OnboardingRow> chunk, Set<String> identifications, Set<String> accounts) {
+        validationPool.submit(() -> chunk.parallelStream()
+                .filter(row -> !row.isRejected())
+                .forEach(this::validateRow)).join();
+
+        rejectExisting(chunk);
+        rejectDuplicatedInFile(chunk, identifications, accounts);
+
+        List<OnboardingRow> accepted = new ArrayList<>(chunk.size());
+        for (OnboardingRow row : chunk) {
+            if (row.isRejected()) {
+                job.reject(row.getLine(), row.getError());
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            persist(job, accepted);
+        }
+        logger.debug("Onboarding job {} chunk processed. Accepted: {}, rejected: {}", job.getId(), accepted.size(), chunk.size() - accepted.size());
+    }
+
+    // Mesmas regras de formato do cadastro unitario; roda nas threads do validationPool
+    private void validateRow(OnboardingRow row) {
+        OnboardingRowDTO data = row.getData();
+        User user = data.toUser();
+        Account account = data.hasAccount() ? data.toAccount(user) : null;
+
+        Set<ConstraintViolation<User>> userViolations = validator.validate(user);
+        if (!userViolations.isEmpty()) {
+            row.setError(userViolations.iterator().next().getMessage());
+            return;
+        }
+        if (account != null) {
+            Set<ConstraintViolation<Account>> accountViolations = validator.validate(account);
+            if (!accountViolations.isEmpty()) {
+                row.setError(accountViolations.iterator().next().getMessage());
+                return;
+            }
+        }
+
+        try {
+            validate.validateUser(user);
+            if (account != null) {
+                validate.validateAccount(account);
+            }
+        } catch (IllegalArgumentException e) {
+            row.setError(e.getMessage());
+            return;
+        }
+
+        row.setUser(user);
+        row.setAccount(account);
+    }
+
+    // Uma consulta por bloco para usuarios e outra para contas, no lugar de uma por linha
+    private void rejectExisting(List<OnboardingRow> chunk) {
+        Set<String> identifications = new HashSet<>();
+        Set<Integer> accountNumbers = new HashSet<>();
+        for (OnboardingRow row : chunk) {
+            if (!row.isRejected()) {
+                identifications.add(row.getUser().getIdentification());
+                if (row.getAccount() != null) {
+                    accountNumbers.add(row.getAccount().getAccountNumber());
+                }
+            }
+        }
+
+        Map<String, User> existingUsers = identifications.isEmpty() ? Map.of()
+                : userRepository.findByIdentificationIn(identifications).stream()
+                .collect(Collectors.toMap(User::getIdentification, Function.identity(), (a, b) -> a.isActive() ? a : b));
+        Map<String, Account> existingAccounts = accountNumbers.isEmpty() ? Map.of()
+                : accountRepository.findByAccountNumberIn(accountNumbers).stream()
+                .collect(Collectors.toMap(OnboardingServiceImpl::accountKey, Function.identity(), (a, b) -> a.isActive() ? a : b));
+
+        for (OnboardingRow row : chunk) {
+            if (row.isRejected()) {
+                continue;
+            }
+            User existingUser = existingUsers.get(row.getUser().getIdentification());
+            if (existingUser != null) {
+                row.setError(existingUser.isActive()
+                        ? "User with this identification already exists and is active"
+                        : "User with this identification already exists but is inactive");
+                continue;
+            }
+            Account existingAccount = row.getAccount() == null ? null : existingAccounts.get(accountKey(row.getAccount()));
+            if (existingAccount != null) {
+                row.setError(existingAccount.isActive()
+                        ? "There is already an account with that account number at this agency"
+                        : "There is already an inactive account with that account number at this agency");
+            }
+        }
+    }
+
+    // A primeira ocorrencia no arquivo vale; as seguintes sao rejeitadas
+    private void rejectDuplicatedInFile(List<OnboardingRow> chunk, Set<String> identifications, Set<String> accounts) {
+        for (OnboardingRow row : chunk) {
+            if (row.isRejected()) {
+                continue;
+            }
+            if (identifications.contains(row.getUser().getIdentification())) {
+                row.setError("Identification duplicated in file");
+            } else if (row.getAccount() != null && !accounts.add(accountKey(row.getAccount()))) {
+                row.setError("Account duplicated in file");
+            } else {
+                identifications.add(row.getUser().getIdentification());
+            }
+        }
+    }
+
+    private void persist(OnboardingJob job, List<OnboardingRow> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        List<Account> accounts = new ArrayList<>(rows.size());
+        for (OnboardingRow row : rows) {
+            users.add(row.getUser());
+            if (row.getAccount() != null) {
+                accounts.add(row.getAccount());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                accountRepository.saveAll(accounts);
+            });
+            job.created(users.size(), accounts.size());
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Onboarding job {} chunk failed, retrying row by row", job.getId(), e);
+        }
+
+        for (OnboardingRow row : rows) {
+            // Entidades novas: as do bloco que falhou ja tem id gerado
+            User user = row.getData().toUser();
+            Account account = row.getAccount() == null ? null : row.getData().toAccount(user);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.save(user);
+                    if (account != null) {
+                        accountRepository.save(account);
+                    }
+                });
+                job.created(1, account == null ? 0 : 1);
+            } catch (RuntimeException e) {
+                logger.error("Onboarding job {} could not persist line {}", job.getId(), row.getLine(), e);
+                job.reject(row.getLine(), "Could not persist row");
+            }
+        }
+    }
+
+    private static String accountKey(Account account) {
+        return account.getAgencyNumber() + "/" + account.getAccountNumber();
+    }
+
+    private static OnboardingRowReader.Format formatOf(String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            mediaType = null;
+        }
+
+        if (mediaType != null && TEXT_CSV.isCompatibleWith(mediaType)) {
+            return OnboardingRowReader.Format.CSV;
+        } else if (mediaType != null && APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            return OnboardingRowReader.Format.NDJSON;
+        }
+        logger.error("Unsupported onboarding content type: {}", contentType);
+        throw new IllegalArgumentException("Unsupported onboarding file type, use text/csv or application/x-ndjson");
+    }
+}
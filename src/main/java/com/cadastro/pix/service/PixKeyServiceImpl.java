@@ -1,38 +1,66 @@
 package com.cadastro.pix.service;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.AccountLocatorCache.AccountLocation;
+import com.cadastro.pix.cache.PixKeyBloomFilter;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.domain.pixKey.PixKey;
 import com.cadastro.pix.dto.pixKey.CreatePixKeyDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchItemDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchResultDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.exception.EntityNotFoundException;
+import com.cadastro.pix.index.PixKeyIndex;
 import com.cadastro.pix.interfaces.services.PixKeyService;
 import com.cadastro.pix.repository.AccountRepository;
 import com.cadastro.pix.repository.PixKeyRepository;
 import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.PageCursor;
 import com.cadastro.pix.utils.Validate;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class PixKeyServiceImpl implements PixKeyService {
 
     private static final Logger logger = LoggerFactory.getLogger(PixKeyServiceImpl.class);
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private PixKeyRepository pixKeyRepository;
 
@@ -45,42 +73,227 @@ public class PixKeyServiceImpl implements PixKeyService {
     @Autowired
     private Validate validate;
 
+    @Autowired
+    private PixKeyResolutionCache resolutionCache;
+
+    @Autowired
+    private PixKeyBloomFilter pixKeyBloomFilter;
+
+    @Autowired
+    private AccountLocatorCache accountLocatorCache;
+
+    @Autowired
+    private PixKeyIndex pixKeyIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     public RespDTO createPixKey(@Valid CreatePixKeyDTO createPixKeyDTO) {
-        logger.info("Starting PixKey creation process for request: {}", createPixKeyDTO);
-        Account account = accountRepository.findByAgencyNumberAndAccountNumber(createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
+        logger.debug("Starting PixKey creation process for request: {}", createPixKeyDTO);
+        AccountLocation account = accountLocatorCache.get(createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
         if (account == null) {
-            logger.error("Account not found with agency number {} and account number {}", createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
-            throw new EntityNotFoundException("There is no such account with this agency number and account");
+            Account existingAccount = accountRepository.findWithUserByAgencyNumberAndAccountNumber(createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
+            if (existingAccount == null) {
+                logger.error("Account not found with agency number {} and account number {}", createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
+                throw new EntityNotFoundException("There is no such account with this agency number and account");
+            }
+            account = accountLocatorCache.put(existingAccount);
         }
-        User user = account.getUser();
         PixKey pixKey = new PixKey(createPixKeyDTO);
 
-        List<PixKey> pixKeyList = account.getPixKeys();
-
-        validate.validateCreatePixKey(pixKey, pixKeyList, account, user);
+        validate.validateCreatePixKey(pixKey, account);
+
+        String keyType = pixKey.getKeyType().toLowerCase();
+        if (accountRepository.reservePixKeySlot(account.accountId(), keyType, Validate.pixKeyLimit(account.isIndividualPerson())) == 0) {
+            // Limite atingido, cpf/cnpj ja cadastrado ou uma criaçao concorrente ocupou a vaga; carrega a conta para devolver o erro certo
+            logger.error("Could not reserve a PixKey slot for account: {}", account.accountId());
+            Account existingAccount = accountRepository.findById(account.accountId());
+            if (existingAccount == null) {
+                accountLocatorCache.invalidate(createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber());
+                throw new EntityNotFoundException("There is no such account with this agency number and account");
+            }
+            validate.validatePixKey(pixKey, existingAccount, existingAccount.getUser());
+            throw new IllegalArgumentException("Pix key limit exceeded for this account");
+        }
 
         pixKey.setActive(true); // Por padrão, nova chave PIX é ativa
-        pixKey.setAccount(account);
-
-        PixKeyDTO pixKeyDTO = new PixKeyDTO(pixKeyRepository.save(pixKey).getId());
-        logger.info("PixKey created successfully: {}", pixKeyDTO);
+        pixKey.setAccount(entityManager.getReference(Account.class, account.accountId()));
+
+        // flush aqui para a violaçao do indice unico de chave ativa sair desta chamada
+        PixKeyDTO pixKeyDTO = new PixKeyDTO(pixKeyRepository.saveAndFlush(pixKey).getId());
+        pixKeyBloomFilter.put(pixKey.getKeyValue());
+        pixKeyIndex.put(pixKey.getKeyValue());
+        resolutionCache.invalidate(pixKey.getKeyValue());
+        logger.debug("PixKey created successfully: {}", pixKeyDTO);
         return new RespDTO(HttpStatus.OK, pixKeyDTO);
     }
 
-    public RespDTO findAllPixKeys() {
-        logger.info("Finding all PixKeys");
-        List<PixKey> pixKeys = pixKeyRepository.findAll();
+    @Transactional
+    public RespDTO createPixKeys(List<CreatePixKeyDTO> createPixKeyDTOs) {
+        if (createPixKeyDTOs == null || createPixKeyDTOs.isEmpty() || createPixKeyDTOs.size() > MAX_BATCH_SIZE) {
+            logger.error("Invalid PixKey batch size: {}", createPixKeyDTOs == null ? null : createPixKeyDTOs.size());
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        logger.info("Starting PixKey batch creation process. Size: {}", createPixKeyDTOs.size());
+
+        PixKeyBatchItemDTO[] results = new PixKeyBatchItemDTO[createPixKeyDTOs.size()];
+
+        Set<String> keyValues = new HashSet<>();
+        for (int i = 0; i < results.length; i++) {
+            CreatePixKeyDTO createPixKeyDTO = createPixKeyDTOs.get(i);
+            if (createPixKeyDTO == null) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, null, "Pix key must not be null");
+                continue;
+            }
+
+            Set<ConstraintViolation<CreatePixKeyDTO>> violations = validator.validate(createPixKeyDTO);
+            if (!violations.isEmpty()) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, createPixKeyDTO.getKeyValue(), violations.iterator().next().getMessage());
+            } else if (!keyValues.add(createPixKeyDTO.getKeyValue())) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, createPixKeyDTO.getKeyValue(), "Pix key value duplicated in batch");
+            }
+        }
+
+        // Uma consulta so para todos os valores do lote, sem passar antes pelo Bloom filter ou pelo indice:
+        // eles so conhecem as chaves de outras instancias depois do refresh, e uma chave que escapasse aqui
+        // so apareceria no saveAllAndFlush, desfazendo o lote inteiro em vez de rejeitar o item
+        Set<String> registered = keyValues.isEmpty()
+                ? Set.of()
+                : new HashSet<>(pixKeyRepository.findActiveKeyValuesIn(keyValues));
+
+        Map<String, AccountBatch> batches = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreatePixKeyDTO createPixKeyDTO = createPixKeyDTOs.get(i);
+            if (registered.contains(createPixKeyDTO.getKeyValue())) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, createPixKeyDTO.getKeyValue(), "Pix key value already registered");
+                continue;
+            }
+
+            AccountBatch batch = batches.computeIfAbsent(
+                    createPixKeyDTO.getAgencyNumber() + "/" + createPixKeyDTO.getAccountNumber(),
+                    key -> new AccountBatch(accountRepository.findWithUserByAgencyNumberAndAccountNumber(
+                            createPixKeyDTO.getAgencyNumber(), createPixKeyDTO.getAccountNumber())));
+            if (batch.account == null) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, createPixKeyDTO.getKeyValue(), "There is no such account with this agency number and account");
+                continue;
+            }
+
+            PixKey pixKey = new PixKey(createPixKeyDTO);
+            try {
+                validate.validatePixKey(pixKey, batch.pending, batch.account.getUser());
+            } catch (IllegalArgumentException e) {
+                results[i] = PixKeyBatchItemDTO.rejected(i, createPixKeyDTO.getKeyValue(), e.getMessage());
+                continue;
+            }
+            batch.add(i, pixKey);
+        }
+
+        List<PixKey> pixKeys = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (AccountBatch batch : batches.values()) {
+            if (batch.pixKeys.isEmpty()) {
+                continue;
+            }
+
+            User user = batch.account.getUser();
+            if (accountRepository.reservePixKeySlots(batch.account.getId(), batch.pixKeys.size(), batch.cpf, batch.cnpj, Validate.pixKeyLimit(user)) == 0) {
+                logger.error("Could not reserve {} PixKey slots for account: {}", batch.pixKeys.size(), batch.account.getId());
+                for (int j = 0; j < batch.pixKeys.size(); j++) {
+                    int index = batch.indexes.get(j);
+                    results[index] = PixKeyBatchItemDTO.rejected(index, batch.pixKeys.get(j).getKeyValue(), "Pix key limit exceeded for this account");
+                }
+                continue;
+            }
+
+            for (PixKey pixKey : batch.pixKeys) {
+                pixKey.setActive(true);
+                pixKey.setAccount(batch.account);
+            }
+            pixKeys.addAll(batch.pixKeys);
+            indexes.addAll(batch.indexes);
+        }
+
+        // Os inserts saem em lotes JDBC (hibernate.jdbc.batch_size)
+        pixKeyRepository.saveAllAndFlush(pixKeys);
+
+        for (int j = 0; j < pixKeys.size(); j++) {
+            PixKey pixKey = pixKeys.get(j);
+            int index = indexes.get(j);
+            results[index] = PixKeyBatchItemDTO.created(index, pixKey.getKeyValue(), pixKey.getId());
+            pixKeyBloomFilter.put(pixKey.getKeyValue());
+            pixKeyIndex.put(pixKey.getKeyValue());
+            resolutionCache.invalidate(pixKey.getKeyValue());
+        }
+
+        PixKeyBatchResultDTO result = PixKeyBatchResultDTO.fromItems(results);
+        logger.info("PixKey batch processed. Created: {}, rejected: {}", result.getCreated(), result.getRejected());
+        return new RespDTO(HttpStatus.OK, result);
+    }
+
+    @Transactional(readOnly = true)
+    public RespDTO findAllPixKeys(String cursor, Integer size) {
+        logger.info("Finding PixKeys page. Cursor: {}, size: {}", cursor, size);
+        int pageSize = PageCursor.validatePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<PixKey> pixKeys = after == null
+                ? pixKeyRepository.findFirstPage(Limit.of(pageSize + 1))
+                : pixKeyRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1));
         if (pixKeys.isEmpty()) {
             logger.error("No PixKeys found");
             throw new EntityNotFoundException("No Pix keys found");
         }
 
-        PixKeyListWithAccountAndUserDTO pixKeyList = PixKeyListWithAccountAndUserDTO.fromPixKeys(pixKeys);
+        String nextCursor = null;
+        if (pixKeys.size() > pageSize) {
+            pixKeys = pixKeys.subList(0, pageSize);
+            PixKey last = pixKeys.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        PixKeyListWithAccountAndUserDTO pixKeyList = PixKeyListWithAccountAndUserDTO.fromPixKeys(pixKeys, nextCursor);
         logger.info("PixKeys found. Size: {}", pixKeys.size());
         return new RespDTO(HttpStatus.OK, pixKeyList);
     }
 
+    @Transactional(readOnly = true)
+    public void exportPixKeys(OutputStream outputStream) throws IOException {
+        logger.info("Starting PixKeys NDJSON export");
+        long exported = 0;
+
+        try (Stream<PixKey> pixKeys = pixKeyRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<PixKey> iterator = pixKeys.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(new PixKeyWithAccountDTO(iterator.next()));
+                generator.writeRaw('\n');
+                exported++;
+
+                // O primeiro registro sai imediatamente; depois, descarrega e desanexa em blocos
+                if (exported == 1 || exported % EXPORT_CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        logger.info("PixKeys NDJSON export finished. Exported: {}", exported);
+    }
+
+    @Transactional(readOnly = true)
     public RespDTO findPixKeyById(UUID id) {
         logger.info("Finding PixKey by id: {}", id);
         PixKey pixKey = pixKeyRepository.findById(id).orElse(null);
@@ -90,10 +303,34 @@ public class PixKeyServiceImpl implements PixKeyService {
         }
 
         PixKeyWithAccountDTO pixKeyDTO = new PixKeyWithAccountDTO(pixKey);
-        logger.info("PixKey found: {}", pixKeyDTO);
+        logger.debug("PixKey found: {}", pixKeyDTO);
         return new RespDTO(HttpStatus.OK, pixKeyDTO);
     }
 
+    @Transactional(readOnly = true)
+    public RespDTO resolvePixKey(String keyValue) {
+        logger.info("Resolving PixKey by value: {}", keyValue);
+        PixKeyWithAccountDTO cached = resolutionCache.get(keyValue);
+        if (cached != null) {
+            logger.info("PixKey resolved from cache: {}", keyValue);
+            return new RespDTO(HttpStatus.OK, cached);
+        }
+
+        // Sem consultar o indice: uma chave criada em outra instancia so entra nele no proximo refresh, e o
+        // "nao contem" aqui viraria 404 para uma chave existente. Na unicidade o indice unico do banco e a garantia
+        PixKey pixKey = pixKeyRepository.findFirstByKeyValueAndActive(keyValue, true);
+        if (pixKey == null) {
+            logger.error("No active PixKey found with value: {}", keyValue);
+            throw new EntityNotFoundException("Pix key not found");
+        }
+
+        PixKeyWithAccountDTO pixKeyDTO = new PixKeyWithAccountDTO(pixKey);
+        resolutionCache.put(keyValue, pixKeyDTO);
+        logger.info("PixKey resolved from database: {}", keyValue);
+        return new RespDTO(HttpStatus.OK, pixKeyDTO);
+    }
+
+    @Transactional(readOnly = true)
     public RespDTO findPixKeysByType(String keyType) {
         logger.info("Finding PixKeys by type: {}", keyType);
         List<PixKey> pixKeys = pixKeyRepository.findByKeyType(keyType);
@@ -107,6 +344,7 @@ public class PixKeyServiceImpl implements PixKeyService {
         return new RespDTO(HttpStatus.OK, pixKeyList);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findPixKeysByAgencyAndAccount(int agencyNumber, int accountNumber) {
         logger.info("Finding PixKeys by agency number: {} and account number: {}", agencyNumber, accountNumber);
         Account account = accountRepository.findByAgencyNumberAndAccountNumber(agencyNumber, accountNumber);
@@ -126,6 +364,7 @@ public class PixKeyServiceImpl implements PixKeyService {
         return new RespDTO(HttpStatus.OK, pixKeyList);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findPixKeysByUserName(String userName) {
         logger.info("Finding PixKeys by user name: {}", userName);
         List<PixKey> pixKeys = pixKeyRepository.findByUserName(userName);
@@ -139,6 +378,7 @@ public class PixKeyServiceImpl implements PixKeyService {
         return new RespDTO(HttpStatus.OK, pixKeyList);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findPixKeysByCreatedAt(LocalDate date) {
         logger.info("Finding PixKeys by creation date: {}", date);
         if (date == null) {
@@ -160,6 +400,7 @@ public class PixKeyServiceImpl implements PixKeyService {
         return new RespDTO(HttpStatus.OK, pixKeyList);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findPixKeysByInactivatedAt(LocalDate date) {
         logger.info("Finding PixKeys by inactivation date: {}", date);
         if (date == null) {
@@ -199,8 +440,50 @@ public class PixKeyServiceImpl implements PixKeyService {
         existingPixKey.setInactivatedAt(LocalDateTime.now());
 
         pixKeyRepository.save(existingPixKey);
+        accountRepository.releasePixKeySlot(existingPixKey.getAccount().getId(), existingPixKey.getKeyType().toLowerCase());
+        pixKeyBloomFilter.markDeactivated(existingPixKey.getKeyValue());
+        pixKeyIndex.remove(existingPixKey.getKeyValue());
+        resolutionCache.invalidate(existingPixKey.getKeyValue());
         PixKeyDTO pixKeyDTO = new PixKeyDTO(existingPixKey);
-        logger.info("PixKey deleted successfully: {}", pixKeyDTO);
+        logger.debug("PixKey deleted successfully: {}", pixKeyDTO);
         return new RespDTO(HttpStatus.OK, pixKeyDTO);
     }
-}
\ No newline at end of file
+
+    // Chaves aceitas de uma conta no lote. pending e uma copia nao gerenciada da conta com os contadores
+    // somando as chaves ja aceitas, para que limite e cpf/cnpj considerem o proprio lote.
+    private static class AccountBatch {
+        private final Account account;
+        private final Account pending;
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<PixKey> pixKeys = new ArrayList<>();
+        private boolean cpf;
+        private boolean cnpj;
+
+        private AccountBatch(Account account) {
+            this.account = account;
+            this.pending = new Account();
+            if (account != null) {
+                pending.setId(account.getId());
+                pending.setUser(account.getUser());
+                pending.setActiveKeyCount(account.getActiveKeyCount());
+                pending.setHasCpfKey(account.getHasCpfKey());
+                pending.setHasCnpjKey(account.getHasCnpjKey());
+            }
+        }
+
+        private void add(int index, PixKey pixKey) {
+            indexes.add(index);
+            pixKeys.add(pixKey);
+            pending.setActiveKeyCount(pending.getActiveKeyCount() + 1);
+
+            String keyType = pixKey.getKeyType().toLowerCase();
+            if (keyType.equals("cpf")) {
+                cpf = true;
+                pending.setHasCpfKey(true);
+            } else if (keyType.equals("cnpj")) {
+                cnpj = true;
+                pending.setHasCnpjKey(true);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.cadastro.pix.service;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.controller.UserController;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.domain.user.User;
@@ -8,15 +10,17 @@ import com.cadastro.pix.dto.user.UserListDTO;
 import com.cadastro.pix.exception.EntityNotFoundException;
 import com.cadastro.pix.interfaces.services.UserService;
 import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.PageCursor;
 import com.cadastro.pix.utils.Validate;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -33,34 +37,54 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private Validate validate;
 
+    @Autowired
+    private PixKeyResolutionCache resolutionCache;
+
+    @Autowired
+    private AccountLocatorCache accountLocatorCache;
+
     @Transactional
     public RespDTO createUser(@Valid User user) {
-        logger.info("Starting user creation process for user: {}", user);
+        logger.debug("Starting user creation process for user: {}", user);
 
         validate.validateCreateUser(user);
         user.setActive(true);
         UserDTO userDTO = new UserDTO(userRepository.save(user).getId());
 
-        logger.info("User created successfully: {}", userDTO);
+        logger.debug("User created successfully: {}", userDTO);
         return new RespDTO(HttpStatus.OK, userDTO);
     }
 
-    public RespDTO findAllUsers() {
-        logger.info("Fetching all users");
+    @Transactional(readOnly = true)
+    public RespDTO findAllUsers(String cursor, Integer size) {
+        logger.info("Fetching users page. Cursor: {}, size: {}", cursor, size);
 
-        List<User> users = userRepository.findAll();
+        int pageSize = PageCursor.validatePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<User> users = after == null
+                ? userRepository.findFirstPage(Limit.of(pageSize + 1))
+                : userRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1));
 
         if (users.isEmpty()) {
             log.error("No users found");
             throw new EntityNotFoundException("No users found");
         }
 
-        UserListDTO usersDTO = UserListDTO.fromUsers(users);
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            User last = users.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        UserListDTO usersDTO = UserListDTO.fromUsers(users, nextCursor);
 
         logger.info("Found {} users", users.size());
         return new RespDTO(HttpStatus.OK, usersDTO);
     }
 
+    @Transactional(readOnly = true)
     public RespDTO findUserById(UUID id) {
         logger.info("Fetching user by ID: {}", id);
 
@@ -70,7 +94,7 @@ public class UserServiceImpl implements UserService {
         }
 
         UserDTO userDTO = new UserDTO(existingUser);
-        logger.info("User found: {}", userDTO);
+        logger.debug("User found: {}", userDTO);
         return new RespDTO(HttpStatus.OK, userDTO);
     }
 
@@ -97,9 +121,11 @@ public class UserServiceImpl implements UserService {
         existingUser.setEmail(user.getEmail());
 
         User updatedUser = userRepository.save(existingUser);
+        resolutionCache.invalidateUser(id);
+        accountLocatorCache.invalidateUser(id);
         UserDTO userDTO = new UserDTO(updatedUser);
 
-        logger.info("User updated successfully: {}", userDTO);
+        logger.debug("User updated successfully: {}", userDTO);
         return new RespDTO(HttpStatus.OK, userDTO);
     }
 
@@ -120,10 +146,12 @@ public class UserServiceImpl implements UserService {
         existingUser.setInactivatedAt(LocalDateTime.now());
 
         userRepository.save(existingUser);
+        resolutionCache.invalidateUser(id);
+        accountLocatorCache.invalidateUser(id);
 
         UserDTO userDTO = new UserDTO(existingUser);
 
-        logger.info("User deactivated successfully: {}", userDTO);
+        logger.debug("User deactivated successfully: {}", userDTO);
         return new RespDTO(HttpStatus.OK, userDTO);
     }
 
@@ -0,0 +1,137 @@
+package com.cadastro.pix.utils;
+
+/**
+ * Checagens de formato usadas pelo Validate, feitas percorrendo os chars da String.
+ * Equivalem as expressoes regulares que estao em cada metodo, mas nao compilam padrao nem alocam.
+ */
+public final class FormatChecks {
+
+    private static final int[] CPF_WEIGHTS = {11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private FormatChecks() {
+    }
+
+    // ^\+\d{1,2}\d{1,3}\d{9}$
+    public static boolean isPhone(String value) {
+        int length = value.length();
+        return length >= 12 && length <= 15 && value.charAt(0) == '+' && isDigits(value, 1, length);
+    }
+
+    // ^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}$
+    public static boolean isEmail(String value) {
+        int at = value.indexOf('@');
+        if (at < 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+
+        // So o ultimo ponto pode separar o dominio de topo, que tem apenas letras
+        int lastDot = value.lastIndexOf('.');
+        if (lastDot <= at + 1 || value.length() - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = at + 1; i < lastDot; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        for (int i = lastDot + 1; i < value.length(); i++) {
+            if (!isAsciiLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[4][0-9a-fA-F]{3}-[89aAbB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$
+    public static boolean isRandomKey(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!isHex(c)) {
+                return false;
+            }
+        }
+        char variant = value.charAt(19);
+        return value.charAt(14) == '4'
+                && (variant == '8' || variant == '9' || variant == 'a' || variant == 'A' || variant == 'b' || variant == 'B');
+    }
+
+    public static boolean isDigits(String value) {
+        return !value.isEmpty() && isDigits(value, 0, value.length());
+    }
+
+    // (\d)\1+
+    public static boolean isRepeatedDigit(String value) {
+        if (value.isEmpty() || !isDigit(value.charAt(0))) {
+            return false;
+        }
+        char first = value.charAt(0);
+        for (int i = 1; i < value.length(); i++) {
+            if (value.charAt(i) != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Digitos verificadores de um CPF com 11 digitos ASCII. */
+    public static boolean hasValidCpfCheckDigits(String cpf) {
+        return checkDigit(cpf, 9, CPF_WEIGHTS, 1) == cpf.charAt(9) - '0'
+                && checkDigit(cpf, 10, CPF_WEIGHTS, 0) == cpf.charAt(10) - '0';
+    }
+
+    /** Digitos verificadores de um CNPJ com 14 digitos ASCII. */
+    public static boolean hasValidCnpjCheckDigits(String cnpj) {
+        return checkDigit(cnpj, 12, CNPJ_WEIGHTS, 1) == cnpj.charAt(12) - '0'
+                && checkDigit(cnpj, 13, CNPJ_WEIGHTS, 0) == cnpj.charAt(13) - '0';
+    }
+
+    // Modulo 11 sobre os primeiros count digitos, com os pesos a partir de weights[offset]
+    private static int checkDigit(String value, int count, int[] weights, int offset) {
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += (value.charAt(i) - '0') * weights[i + offset];
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || isDigit(c);
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
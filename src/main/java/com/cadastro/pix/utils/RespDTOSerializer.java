@@ -3,58 +3,118 @@ package com.cadastro.pix.utils;
 import com.cadastro.pix.dto.account.SimpleAccountListWithUserDTO;
 import com.cadastro.pix.dto.account.SimpleAccountWithPixDTO;
 import com.cadastro.pix.dto.account.SimpleAccountWithUserDTO;
+import com.cadastro.pix.dto.onboarding.OnboardingJobDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchResultDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyDTO;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
 import com.cadastro.pix.dto.user.UserDTO;
 import com.cadastro.pix.dto.user.UserListDTO;
+import com.cadastro.pix.interfaces.BaseDTO;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class RespDTOSerializer extends JsonSerializer<RespDTO> {
+/**
+ * Escreve o RespDTO como {"httpStatus": ..., "message": ...} ou {"httpStatus": ..., "data": ...}.
+ *
+ * Cada tipo de DTO tem um registro em WRAPPER_FIELDS: listas e resultados vao direto em "data", entidades
+ * unicas vao dentro de "data" num campo com o nome da entidade. Um DTO novo so precisa de uma linha ali.
+ * Os serializers de cada tipo sao resolvidos uma vez no resolve(), e nao a cada resposta.
+ */
+public class RespDTOSerializer extends StdSerializer<RespDTO> implements ResolvableSerializer {
+
+    private static final SerializedString HTTP_STATUS = new SerializedString("httpStatus");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+
+    // null: o DTO e o proprio "data"
+    private static final Map<Class<? extends BaseDTO>, String> WRAPPER_FIELDS;
+
+    static {
+        Map<Class<? extends BaseDTO>, String> fields = new LinkedHashMap<>();
+        fields.put(UserListDTO.class, null);
+        fields.put(PixKeyListWithAccountAndUserDTO.class, null);
+        fields.put(SimpleAccountListWithUserDTO.class, null);
+        fields.put(PixKeyBatchResultDTO.class, null);
+        fields.put(UserDTO.class, "user");
+        fields.put(SimpleAccountWithPixDTO.class, "account");
+        fields.put(SimpleAccountWithUserDTO.class, "account");
+        fields.put(PixKeyDTO.class, "pixKey");
+        fields.put(PixKeyWithAccountDTO.class, "pixKey");
+        fields.put(OnboardingJobDTO.class, "job");
+        WRAPPER_FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    private final Map<Class<?>, Writer> writers = new HashMap<>();
+
+    public RespDTOSerializer() {
+        super(RespDTO.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        for (Map.Entry<Class<? extends BaseDTO>, String> entry : WRAPPER_FIELDS.entrySet()) {
+            writers.put(entry.getKey(), writer(entry.getKey(), entry.getValue(), provider));
+        }
+    }
 
     @Override
     public void serialize(RespDTO respDTO, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         gen.writeStartObject();
-        gen.writeStringField("httpStatus", respDTO.getHttpStatus().toString());
+        gen.writeFieldName(HTTP_STATUS);
+        gen.writeString(respDTO.getHttpStatus().toString());
 
+        BaseDTO data = respDTO.getData();
         if (respDTO.getMessage() != null) {
-            gen.writeStringField("message", respDTO.getMessage());
-        } else if (respDTO.getData() != null) {
-            if (respDTO.getData() instanceof UserListDTO) {
-                gen.writeObjectField("data", respDTO.getData());
-            } else if (respDTO.getData() instanceof PixKeyListWithAccountAndUserDTO) {
-                gen.writeObjectField("data", respDTO.getData());
-            } else if (respDTO.getData() instanceof SimpleAccountListWithUserDTO) {
-                gen.writeObjectField("data", respDTO.getData());
-            } else {
-                gen.writeObjectFieldStart("data");
-                if (respDTO.getData() instanceof UserDTO) {
-                    gen.writeObjectField("user", respDTO.getData());
-                } else if (respDTO.getData() instanceof SimpleAccountWithPixDTO) {
-                    gen.writeObjectField("account", respDTO.getData());
-                } else if (respDTO.getData() instanceof SimpleAccountWithUserDTO) {
-                    gen.writeObjectField("account", respDTO.getData());
-                } else if (respDTO.getData() instanceof PixKeyDTO) {
-                    gen.writeObjectField("pixKey", respDTO.getData());
-                } else if (respDTO.getData() instanceof PixKeyWithAccountDTO) {
-                    gen.writeObjectField("pixKey", respDTO.getData());
-                }
-                gen.writeEndObject();
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(respDTO.getMessage());
+        } else if (data != null) {
+            Writer writer = writers.get(data.getClass());
+            if (writer == null) {
+                // Sem resolve() (serializer criado fora do Jackson) ou tipo sem registro
+                writer = WRAPPER_FIELDS.containsKey(data.getClass())
+                        ? writer(data.getClass(), WRAPPER_FIELDS.get(data.getClass()), serializers)
+                        : Writer.EMPTY;
             }
+            writer.write(data, gen, serializers);
         }
 
         gen.writeEndObject();
     }
 
-    private void serializeUserListDTO(UserListDTO userListDTO, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
-        jsonGenerator.writeStartObject();
-        jsonGenerator.writeFieldName("users");
-        serializerProvider.defaultSerializeValue(userListDTO.getUsers(), jsonGenerator);
-        jsonGenerator.writeEndObject();
+    private static Writer writer(Class<?> type, String field, SerializerProvider provider) throws JsonMappingException {
+        return new Writer(field == null ? null : new SerializedString(field), provider.findValueSerializer(type));
+    }
+
+    private record Writer(SerializedString field, JsonSerializer<Object> serializer) {
+
+        static final Writer EMPTY = new Writer(null, null);
+
+        void write(BaseDTO data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeFieldName(DATA);
+            if (serializer == null) {
+                gen.writeStartObject();
+                gen.writeEndObject();
+            } else if (field == null) {
+                serializer.serialize(data, gen, provider);
+            } else {
+                gen.writeStartObject();
+                gen.writeFieldName(field);
+                serializer.serialize(data, gen, provider);
+                gen.writeEndObject();
+            }
+        }
     }
-}
\ No newline at end of file
+}
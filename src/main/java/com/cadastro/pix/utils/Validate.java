@@ -1,9 +1,13 @@
 package com.cadastro.pix.utils;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.AccountLocatorCache.AccountLocation;
+import com.cadastro.pix.cache.PixKeyBloomFilter;
 import com.cadastro.pix.controller.UserController;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.domain.pixKey.PixKey;
 import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.index.PixKeyIndex;
 import com.cadastro.pix.repository.AccountRepository;
 import com.cadastro.pix.repository.PixKeyRepository;
 import com.cadastro.pix.repository.UserRepository;
@@ -12,15 +16,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 @Component
 public class Validate {
 
     private final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    public static final int INDIVIDUAL_PIX_KEY_LIMIT = 5;
+    public static final int LEGAL_PIX_KEY_LIMIT = 20;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -30,23 +33,33 @@ public class Validate {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private PixKeyBloomFilter pixKeyBloomFilter;
+
+    @Autowired
+    private AccountLocatorCache accountLocatorCache;
+
+    @Autowired
+    private PixKeyIndex pixKeyIndex;
+
     //USER
     public void validateCreateUser(User user) {
-        logger.info("Validating user creation: {}", user);
+        logger.debug("Validating user creation: {}", user);
 
         validateExistUser(user);
         validateUser(user);
     }
 
     public void validateUpdateUser(User user, String existingUserType) {
-        logger.info("Validating updated fields for user: {}", user);
+        logger.debug("Validating updated fields for user: {}", user);
 
         validateUserType(user.getPersonType(), existingUserType);
         validateExistUser(user);
         validateUser(user);
     }
 
-    private void validateUser(User user) {
+    // Checagens de formato (nome, telefone, email, CPF/CNPJ) sem consultar o banco
+    public void validateUser(User user) {
         validateUserName(user.getUserName());
         validateUserLastName(user.getUserLastName());
         validatePhone(user.getPhone());
@@ -55,7 +68,7 @@ public class Validate {
     }
 
     private void validateExistUser(User user) {
-        logger.info("Checking if user exists: {}", user);
+        logger.debug("Checking if user exists: {}", user);
 
         User existUser = userRepository.findByIdentification(user.getIdentification());
         if (existUser != null) {
@@ -70,7 +83,7 @@ public class Validate {
     }
 
     private void validateUserName(String nome) {
-        logger.info("Validating user name: {}", nome);
+        logger.debug("Validating user name: {}", nome);
 
         if (nome == null || nome.isEmpty() || nome.length() > 30) {
             logger.error("Invalid user name: {}", nome);
@@ -79,7 +92,7 @@ public class Validate {
     }
 
     private void validateUserLastName(String sobrenome) {
-        logger.info("Validating user last name: {}", sobrenome);
+        logger.debug("Validating user last name: {}", sobrenome);
 
         if (sobrenome!= null && sobrenome.length() > 45) {
             logger.error("Invalid user last name: {}", sobrenome);
@@ -88,7 +101,7 @@ public class Validate {
     }
 
     private void validateUserType(String existingUserType, String newUserType) {
-        logger.info("Validating user type. Existing: {}, New: {}", existingUserType, newUserType);
+        logger.debug("Validating user type. Existing: {}, New: {}", existingUserType, newUserType);
 
         if (!existingUserType.equals(newUserType)) {
             logger.error("Attempt to change user type from {} to {}", existingUserType, newUserType);
@@ -97,7 +110,7 @@ public class Validate {
     }
 
     private void validateIdentification(User user) {
-        logger.info("Validating user identification: {}", user.getIdentification());
+        logger.debug("Validating user identification: {}", user.getIdentification());
 
         if (user.isIndividualPerson()) {
             validateCPF(user.getIdentification());
@@ -113,20 +126,20 @@ public class Validate {
 
     public void validateCreateAccount(Account account) {
         // Lógica de validação
-        logger.info("Validating account creation fields for account: {}", account);
+        logger.debug("Validating account creation fields for account: {}", account);
         validateExistAccount(account);
         validateAccount(account);
-        logger.info("Account creation fields validated successfully");
+        logger.debug("Account creation fields validated successfully");
     }
 
     public void validateUpdateAccount(Account account) {
-        logger.info("Validating account update fields for account: {}", account);
+        logger.debug("Validating account update fields for account: {}", account);
         validateExistAccount(account);
         validateAccount(account);
-        logger.info("Account update fields validated successfully");
+        logger.debug("Account update fields validated successfully");
     }
 
-    private void validateAccount(Account account) {
+    public void validateAccount(Account account) {
         validateAccountType(account.getAccountType());
         validateAgencyNumber(account.getAgencyNumber());
         validateAccountNumber(account.getAccountNumber());
@@ -154,13 +167,23 @@ public class Validate {
     }
 
     private void validateExistAccount(Account account) {
-        logger.info("Checking if account already exists: {}", account);
-        Account existAccount = accountRepository.findByAgencyNumberAndAccountNumber(
-                account.getAgencyNumber(), account.getAccountNumber()
-        );
+        logger.debug("Checking if account already exists: {}", account);
+        Boolean existingActive = null;
 
-        if (existAccount != null) {
-            if(existAccount.isActive()) {
+        AccountLocation location = accountLocatorCache.get(account.getAgencyNumber(), account.getAccountNumber());
+        if (location != null) {
+            existingActive = location.active();
+        } else {
+            Account existAccount = accountRepository.findByAgencyNumberAndAccountNumber(
+                    account.getAgencyNumber(), account.getAccountNumber()
+            );
+            if (existAccount != null) {
+                existingActive = existAccount.isActive();
+            }
+        }
+
+        if (existingActive != null) {
+            if (existingActive) {
                 logger.error("Active account already exists with account number {} at agency {}", account.getAccountNumber(), account.getAgencyNumber());
                 throw new IllegalArgumentException("There is already an account with that account number at this agency");
             }
@@ -168,22 +191,52 @@ public class Validate {
             logger.error("Inactive account already exists with account number {} at agency {}", account.getAccountNumber(), account.getAgencyNumber());
             throw new IllegalArgumentException("There is already an inactive account with that account number at this agency");
         }
-        logger.info("No existing account found with account number {} at agency {}", account.getAccountNumber(), account.getAgencyNumber());
+        logger.debug("No existing account found with account number {} at agency {}", account.getAccountNumber(), account.getAgencyNumber());
     }
 
     //PIXKEY
-    public void validateCreatePixKey(PixKey pixKey, List<PixKey> pixKeyList, Account account, User user) {
-        logger.info("Validating PixKey creation for key: {}", pixKey);
-        String keyValue = pixKey.getKeyValue();
-        validateExistPixKey(keyValue);
-        if (user.isIndividualPerson() && pixKeyList.size() >= 5) {
+    public static int pixKeyLimit(User user) {
+        return pixKeyLimit(user.isIndividualPerson());
+    }
+
+    public static int pixKeyLimit(boolean individualPerson) {
+        return individualPerson ? INDIVIDUAL_PIX_KEY_LIMIT : LEGAL_PIX_KEY_LIMIT;
+    }
+
+    // Cadastro a partir do localizador em cache: o limite de chaves e o cpf/cnpj ja cadastrado
+    // ficam com o UPDATE condicional de AccountRepository.reservePixKeySlot
+    public void validateCreatePixKey(PixKey pixKey, AccountLocation account) {
+        logger.debug("Validating PixKey creation for key: {}", pixKey);
+        validateExistPixKey(pixKey.getKeyValue());
+        validatePixKeyValue(pixKey, account.isIndividualPerson(), account.isLegalPerson(), account.identification());
+    }
+
+    // Regras da chave sem a checagem de valor ja cadastrado; o cadastro em lote checa todos os valores numa consulta so
+    public void validatePixKey(PixKey pixKey, Account account, User user) {
+        if (user.isIndividualPerson() && account.getActiveKeyCount() >= INDIVIDUAL_PIX_KEY_LIMIT) {
             logger.error("Limit of 5 keys per account for Individuals exceeded");
             throw new IllegalArgumentException("Limit of 5 keys per account for Individuals exceeded");
-        } else if (pixKeyList.size() >= 20) {
+        } else if (account.getActiveKeyCount() >= LEGAL_PIX_KEY_LIMIT) {
             logger.error("Limit of 20 keys per account for Legal Entities exceeded");
             throw new IllegalArgumentException("Limit of 20 keys per account for Legal Entities exceeded");
         }
 
+        validatePixKeyValue(pixKey, user.isIndividualPerson(), user.isLegalPerson(), account.getUser().getIdentification());
+
+        String keyType = pixKey.getKeyType().toLowerCase();
+        if (keyType.equals("cpf") && account.getHasCpfKey()) {
+            logger.error("CPF key already registered for this account");
+            throw new IllegalArgumentException("CPF key already registered for this account");
+        }
+        if (keyType.equals("cnpj") && account.getHasCnpjKey()) {
+            logger.error("CNPJ key already registered for this account");
+            throw new IllegalArgumentException("CNPJ key already registered for this account");
+        }
+    }
+
+    // Formato do valor e, para cpf/cnpj, se bate com o documento do titular
+    private void validatePixKeyValue(PixKey pixKey, boolean individualPerson, boolean legalPerson, String identification) {
+        String keyValue = pixKey.getKeyValue();
         switch (pixKey.getKeyType().toLowerCase()) {
             case "celular":
                 validatePhone(keyValue);
@@ -192,10 +245,10 @@ public class Validate {
                 validateEmail(keyValue);
                 break;
             case "cpf":
-                validateCPFKey(user, keyValue, pixKeyList, account);
+                validateCPFKey(legalPerson, identification, keyValue);
                 break;
             case "cnpj":
-                validateCNPJKey(user, keyValue, pixKeyList, account);
+                validateCNPJKey(individualPerson, identification, keyValue);
                 break;
             case "aleatorio":
                 validateRandomKey(keyValue);
@@ -207,57 +260,59 @@ public class Validate {
     }
 
     private void validateExistPixKey(String keyValue) {
-        logger.info("Checking if pix key exists: {}", keyValue);
+        logger.debug("Checking if pix key exists: {}", keyValue);
+
+        // Quem garante a unicidade e o indice unico de chave ativa; aqui so antecipamos o erro
+        // quando o indice de chaves (ou, enquanto ele nao carregou, o Bloom filter) indica que o valor pode existir
+        if (pixKeyIndex.isReady()) {
+            if (!pixKeyIndex.contains(keyValue)) {
+                logger.debug("PixKey value not in key index, skipping database check: {}", keyValue);
+                return;
+            }
+        } else if (!pixKeyBloomFilter.mightContain(keyValue)) {
+            logger.debug("PixKey value not in bloom filter, skipping database check: {}", keyValue);
+            return;
+        }
 
         if (pixKeyRepository.existsByKeyValueAndActive(keyValue, true)) {
             logger.error("PixKey value already registered: {}", keyValue);
             throw new IllegalArgumentException("Pix key value already registered");
         }
+
+        if (!pixKeyIndex.isReady() && pixKeyBloomFilter.isReady()) {
+            pixKeyBloomFilter.recordFalsePositive();
+        }
     }
 
-    private void validateCPFKey(User user, String keyValue, List<PixKey> pixKeyList, Account account) {
-        logger.info("Validating CPF key: {}", keyValue);
+    private void validateCPFKey(boolean legalPerson, String identification, String keyValue) {
+        logger.debug("Validating CPF key: {}", keyValue);
 
-        if (user.isLegalPerson()) {
+        if (legalPerson) {
             logger.error("Legal entities cannot register a CPF key");
             throw new IllegalArgumentException("Legal entities cannot register a CPF key");
         }
 
-        if (!account.getUser().getIdentification().equals(keyValue)) {
+        if (!identification.equals(keyValue)) {
             logger.error("The CPF key must be the same as the account's CPF: {}", keyValue);
             throw new IllegalArgumentException("The CPF key must be the same as the account's CPF");
         }
 
-        for (PixKey pixKey : pixKeyList) {
-            if (pixKey.getKeyType().equalsIgnoreCase("cpf")) {
-                logger.error("CPF key already registered for this account");
-                throw new IllegalArgumentException("CPF key already registered for this account");
-            }
-        }
-
         validateCPF(keyValue);
     }
 
-    private void validateCNPJKey(User user, String keyValue, List<PixKey> pixKeyList, Account account) {
-        logger.info("Validating CNPJ key: {}", keyValue);
+    private void validateCNPJKey(boolean individualPerson, String identification, String keyValue) {
+        logger.debug("Validating CNPJ key: {}", keyValue);
 
-        if (user.isIndividualPerson()) {
+        if (individualPerson) {
             logger.error("Individuals cannot register a CNPJ key");
             throw new IllegalArgumentException("Individuals cannot register a CNPJ key");
         }
 
-        if (!account.getUser().getIdentification().equals(keyValue)) {
+        if (!identification.equals(keyValue)) {
             logger.error("The CNPJ key must be the same as the account's CNPJ: {}", keyValue);
             throw new IllegalArgumentException("The CNPJ key must be the same as the account's CNPJ");
         }
 
-        for (PixKey pixKey : pixKeyList) {
-            if (pixKey.getKeyType().equalsIgnoreCase("cnpj")) {
-                logger.error("CNPJ key already registered for this account");
-                throw new IllegalArgumentException("CNPJ key already registered for this account");
-            }
-        }
-
         validateCNPJ(keyValue);
     }
 
@@ -265,127 +320,67 @@ public class Validate {
     //GENERAL
 
     private void validatePhone(String keyValue) {
-        logger.info("Validating phone number: {}", keyValue);
+        logger.debug("Validating phone number: {}", keyValue);
 
-        if (!keyValue.matches("^\\+\\d{1,2}\\d{1,3}\\d{9}$")) {
+        if (!FormatChecks.isPhone(keyValue)) {
             logger.error("Invalid phone number: {}", keyValue);
             throw new IllegalArgumentException("Invalid phone number");
         }
     }
 
     private void validateEmail(String keyValue) {
-        logger.info("Validating email address: {}", keyValue);
+        logger.debug("Validating email address: {}", keyValue);
 
         // has to be at least in format string@string.com
-        final String emailRegexPattern = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-
-        Pattern pattern = Pattern.compile(emailRegexPattern);
-        Matcher matcher = pattern.matcher(keyValue);
-
-        if (!matcher.matches() || keyValue.length() > 77) {
+        if (!FormatChecks.isEmail(keyValue) || keyValue.length() > 77) {
             logger.error("Invalid email format: {}", keyValue);
             throw new IllegalArgumentException("Invalid email format");
         }
     }
 
     private void validateCPF(String keyValue) {
-        logger.info("Validating CPF: {}", keyValue);
+        logger.debug("Validating CPF: {}", keyValue);
 
-        if (keyValue.length() != 11 || keyValue.matches("(\\d)\\1{10}")) {
+        if (keyValue.length() != 11 || FormatChecks.isRepeatedDigit(keyValue)) {
             logger.error("Invalid CPF: {}", keyValue);
             throw new IllegalArgumentException("Invalid CPF");
         }
 
-        if (!isNumeric(keyValue)) {
+        if (!FormatChecks.isDigits(keyValue)) {
             logger.error("CPF must only contain numbers: {}", keyValue);
             throw new IllegalArgumentException("The CPF must only contain numbers");
         }
 
-        int[] digits = new int[11];
-        for (int i = 0; i < 11; i++) {
-            digits[i] = keyValue.charAt(i) - '0';
-        }
-        int sum = 0;
-        for (int i = 0; i < 9; i++) {
-            sum += digits[i] * (10 - i);
-        }
-        int remainder = sum % 11;
-        int digit1 = (remainder < 2) ? 0 : (11 - remainder);
-        if (digits[9] != digit1) {
-            logger.error("Invalid CPF: {}", keyValue);
-            throw new IllegalArgumentException("Invalid CPF");
-        }
-        sum = 0;
-        for (int i = 0; i < 10; i++) {
-            sum += digits[i] * (11 - i);
-        }
-        remainder = sum % 11;
-        int digit2 = (remainder < 2) ? 0 : (11 - remainder);
-        if (digits[10] != digit2) {
+        if (!FormatChecks.hasValidCpfCheckDigits(keyValue)) {
             logger.error("Invalid CPF: {}", keyValue);
             throw new IllegalArgumentException("Invalid CPF");
         }
     }
 
     private void validateCNPJ(String keyValue) {
-        logger.info("Validating CNPJ: {}", keyValue);
+        logger.debug("Validating CNPJ: {}", keyValue);
 
-        if (keyValue.length() != 14 || keyValue.matches("(\\d)\\1{13}")) {
+        if (keyValue.length() != 14 || FormatChecks.isRepeatedDigit(keyValue)) {
             logger.error("Invalid CNPJ: {}", keyValue);
             throw new IllegalArgumentException("Invalid CNPJ");
         }
 
-        if (!isNumeric(keyValue)) {
+        if (!FormatChecks.isDigits(keyValue)) {
             logger.error("CNPJ must only contain numbers: {}", keyValue);
             throw new IllegalArgumentException("The CNPJ must only contain numbers");
         }
 
-        int[] digits = new int[14];
-        for (int i = 0; i < 14; i++) {
-            digits[i] = keyValue.charAt(i) - '0';
-        }
-        int sum = 0;
-        int[] weights1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        for (int i = 0; i < 12; i++) {
-            sum += digits[i] * weights1[i];
-        }
-        int remainder = sum % 11;
-        int digit1 = (remainder < 2) ? 0 : (11 - remainder);
-        if (digits[12] != digit1) {
-            logger.error("Invalid CNPJ: {}", keyValue);
-            throw new IllegalArgumentException("Invalid CNPJ");
-        }
-        sum = 0;
-        int[] weights2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        for (int i = 0; i < 13; i++) {
-            sum += digits[i] * weights2[i];
-        }
-        remainder = sum % 11;
-        int digit2 = (remainder < 2) ? 0 : (11 - remainder);
-        if (digits[13] != digit2) {
+        if (!FormatChecks.hasValidCnpjCheckDigits(keyValue)) {
             logger.error("Invalid CNPJ: {}", keyValue);
             throw new IllegalArgumentException("Invalid CNPJ");
         }
     }
 
     private void validateRandomKey(String keyValue) {
-        logger.info("Validating random key: {}", keyValue);
-        if (!keyValue.matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[4][0-9a-fA-F]{3}-[89aAbB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$")) {
+        logger.debug("Validating random key: {}", keyValue);
+        if (!FormatChecks.isRandomKey(keyValue)) {
             logger.error("Invalid random key: {}", keyValue);
             throw new IllegalArgumentException("Invalid random key");
         }
     }
-
-    private boolean isNumeric(String str) {
-        if (str == null) {
-            return false;
-        }
-        try {
-            Long.parseLong(str);
-            return true;
-        } catch (NumberFormatException e) {
-            logger.error("Error parsing string to number: {}", str, e);
-            return false;
-        }
-    }
 }
@@ -0,0 +1,44 @@
+-- Esquema da versao que o ddl-auto=update gerava antes das migraçoes. Bases existentes entram com baseline
+-- na versao 1 (spring.flyway.baseline-on-migrate) e recebem so as migraçoes seguintes, entao este arquivo
+-- nao pode ganhar colunas novas: elas vao em migraçoes proprias.
+create table user (
+    id binary(16) not null,
+    person_type varchar(10) not null,
+    user_name varchar(30) not null,
+    user_last_name varchar(45),
+    identification varchar(14) not null,
+    phone varchar(14) not null,
+    email varchar(77) not null,
+    active bit not null,
+    inactivated_at datetime(6),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+);
+
+create table account (
+    id binary(16) not null,
+    account_type varchar(10) not null,
+    agency_number integer not null,
+    account_number integer not null,
+    user_id binary(16) not null,
+    active bit not null,
+    inactivated_at datetime(6),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_account_user foreign key (user_id) references user (id)
+);
+
+create table pix_key (
+    id binary(16) not null,
+    key_type varchar(9) not null,
+    key_value varchar(77) not null,
+    account_id binary(16) not null,
+    active bit not null,
+    inactivated_at datetime(6),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_pix_key_account foreign key (account_id) references account (id)
+);
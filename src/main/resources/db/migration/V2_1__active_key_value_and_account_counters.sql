@@ -0,0 +1,11 @@
+-- Colunas que o ddl-auto=update criava depois da versao 1; roda antes do preenchimento dos contadores (V3).
+
+-- Valor da chave enquanto ativa e null depois; o indice unico garante um unico valor ativo.
+-- Falha se a base ja tiver dois registros ativos com o mesmo valor, que precisam ser desativados antes.
+alter table pix_key add column active_key_value varchar(77) generated always as (case when active then key_value end);
+alter table pix_key add constraint uk_pix_key_active_key_value unique (active_key_value);
+
+-- Contadores de chaves ativas da conta, mantidos pelo UPDATE condicional da criaçao e desativaçao de chave
+alter table account add column active_key_count integer default 0 not null;
+alter table account add column has_cpf_key bit default false not null;
+alter table account add column has_cnpj_key bit default false not null;
@@ -0,0 +1,31 @@
+-- Um indice por padrao de consulta dos repositories. As chaves estrangeiras (account.user_id,
+-- pix_key.account_id) ja tem indice proprio, criado junto com a constraint.
+
+-- existsByKeyValueAndActive, findFirstByKeyValueAndActive, findActiveKeyValuesIn, countByActive
+-- e streamActiveKeyValues: igualdade em active (e key_value), leitura so do indice
+create index idx_pix_key_active_key_value on pix_key (active, key_value);
+
+-- findActiveKeyValuesCreatedSince (reconstruçao incremental do Bloom filter): cobre o select de key_value
+create index idx_pix_key_active_created_at on pix_key (active, created_at, key_value);
+
+-- findByKeyType
+create index idx_pix_key_key_type on pix_key (key_type);
+
+-- findFirstPage/findPageAfter (keyset por created_at, id), findByCreatedAtBetween e findByInactivatedAtBetween
+-- (que tambem limita created_at)
+create index idx_pix_key_created_at_id on pix_key (created_at, id);
+
+-- findByAgencyNumberAndAccountNumber, findWithUserByAgencyNumberAndAccountNumber e findByAccountNumberIn
+create index idx_account_number_agency on account (account_number, agency_number);
+
+-- findFirstPage/findPageAfter
+create index idx_account_created_at_id on account (created_at, id);
+
+-- findByIdentification e findByIdentificationIn
+create index idx_user_identification on user (identification);
+
+-- findByUserName e o join de PixKeyRepository.findByUserName
+create index idx_user_user_name on user (user_name);
+
+-- findFirstPage/findPageAfter
+create index idx_user_created_at_id on user (created_at, id);
@@ -0,0 +1,5 @@
+-- Contadores de chaves ativas da conta, para bases criadas antes dessas colunas existirem
+update account a set
+    active_key_count = (select count(*) from pix_key p where p.account_id = a.id and p.active),
+    has_cpf_key = exists (select 1 from pix_key p where p.account_id = a.id and p.active and p.key_type = 'cpf'),
+    has_cnpj_key = exists (select 1 from pix_key p where p.account_id = a.id and p.active and p.key_type = 'cnpj');
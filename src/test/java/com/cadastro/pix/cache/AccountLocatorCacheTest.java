@@ -0,0 +1,148 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.cache.AccountLocatorCache.AccountLocation;
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountLocatorCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountLocatorCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AccountLocatorCache(meterRegistry, 100_000, Duration.ofMinutes(10));
+    }
+
+    private Account account(int agencyNumber, int accountNumber, UUID userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setPersonType("fisica");
+        user.setIdentification("48428781850");
+
+        Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setAgencyNumber(agencyNumber);
+        account.setAccountNumber(accountNumber);
+        account.setActive(true);
+        account.setUser(user);
+        return account;
+    }
+
+    @Test
+    void testPack_DistinctForSwappedNumbers() {
+        assertNotEquals(AccountLocatorCache.pack(1234, 5678), AccountLocatorCache.pack(5678, 1234));
+        assertNotEquals(0L, AccountLocatorCache.pack(1, 1));
+        assertEquals(AccountLocatorCache.pack(9999, 99999999), AccountLocatorCache.pack(9999, 99999999));
+    }
+
+    @Test
+    void testPutGetInvalidate() {
+        Account account = account(1234, 12345678, UUID.randomUUID());
+
+        AccountLocation location = cache.put(account);
+
+        assertEquals(location, cache.get(1234, 12345678));
+        assertEquals(account.getId(), location.accountId());
+        assertTrue(location.isIndividualPerson());
+        assertNull(cache.get(1234, 87654321));
+        assertNull(cache.get(null, 12345678));
+
+        cache.invalidate(1234, 12345678);
+        assertNull(cache.get(1234, 12345678));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidateUser_RemovesOnlyAccountsOfThatUser() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 1; i <= 50; i++) {
+            cache.put(account(1234, i, i % 2 == 0 ? userId : UUID.randomUUID()));
+        }
+
+        cache.invalidateUser(userId);
+
+        for (int i = 1; i <= 50; i++) {
+            if (i % 2 == 0) {
+                assertNull(cache.get(1234, i));
+            } else {
+                assertNotNull(cache.get(1234, i));
+            }
+        }
+        assertEquals(25, cache.size());
+    }
+
+    @Test
+    void testExpiredEntryIsAMiss() {
+        cache = new AccountLocatorCache(meterRegistry, 100, Duration.ZERO);
+
+        cache.put(account(1234, 12345678, UUID.randomUUID()));
+
+        assertNull(cache.get(1234, 12345678));
+    }
+
+    @Test
+    void testFullCacheIsClearedBeforeANewEntry() {
+        cache = new AccountLocatorCache(meterRegistry, 10, Duration.ofMinutes(10));
+        for (int i = 1; i <= 10; i++) {
+            cache.put(account(1, i, UUID.randomUUID()));
+        }
+        assertEquals(10, cache.size());
+
+        cache.put(account(1, 5, UUID.randomUUID()));
+        assertEquals(10, cache.size());
+
+        cache.put(account(1, 11, UUID.randomUUID()));
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(1, 11));
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomPutsAndRemovals() {
+        Map<Long, AccountLocation> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int agencyNumber = 1 + random.nextInt(20);
+            int accountNumber = 1 + random.nextInt(500);
+            long key = AccountLocatorCache.pack(agencyNumber, accountNumber);
+            if (random.nextInt(3) == 0) {
+                cache.invalidate(agencyNumber, accountNumber);
+                expected.remove(key);
+            } else {
+                expected.put(key, cache.put(account(agencyNumber, accountNumber, UUID.randomUUID())));
+            }
+        }
+
+        assertEquals(expected.size(), cache.size());
+        for (int agencyNumber = 1; agencyNumber <= 20; agencyNumber++) {
+            for (int accountNumber = 1; accountNumber <= 500; accountNumber++) {
+                assertEquals(expected.get(AccountLocatorCache.pack(agencyNumber, accountNumber)), cache.get(agencyNumber, accountNumber));
+            }
+        }
+    }
+
+    @Test
+    void testLookupsAreCounted() {
+        cache.put(account(1234, 12345678, UUID.randomUUID()));
+
+        cache.get(1234, 12345678);
+        cache.get(1234, 87654321);
+
+        assertEquals(1.0, meterRegistry.get("pix.account.locator.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.account.locator.lookups").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.account.locator.entries").gauge().value());
+    }
+}
@@ -0,0 +1,91 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.repository.PixKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PixKeyBloomFilterTest {
+
+    private PixKeyRepository pixKeyRepository;
+    private MeterRegistry meterRegistry;
+    private PixKeyBloomFilter bloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        pixKeyRepository = mock(PixKeyRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        bloomFilter = new PixKeyBloomFilter(pixKeyRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, 1000, 0.01, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testNotReady_AlwaysPossible() {
+        assertFalse(bloomFilter.isReady());
+        assertTrue(bloomFilter.mightContain("teste@teste.com"));
+    }
+
+    @Test
+    void testRebuild_LoadsActiveAndRecentKeys() {
+        when(pixKeyRepository.countByActive(true)).thenReturn(2L);
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of("a@teste.com", "b@teste.com"));
+        when(pixKeyRepository.findActiveKeyValuesCreatedSince(any())).thenReturn(List.of("c@teste.com"));
+
+        bloomFilter.rebuild();
+
+        assertTrue(bloomFilter.isReady());
+        assertTrue(bloomFilter.mightContain("a@teste.com"));
+        assertTrue(bloomFilter.mightContain("b@teste.com"));
+        assertTrue(bloomFilter.mightContain("c@teste.com"));
+        assertFalse(bloomFilter.mightContain("d@teste.com"));
+        assertEquals(3.0, meterRegistry.get("pix.key.bloom.entries").gauge().value());
+        assertTrue(meterRegistry.get("pix.key.bloom.memory").gauge().value() > 0);
+        assertEquals(1.0, meterRegistry.get("pix.key.bloom.checks").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testPut_AfterRebuild() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.empty());
+        bloomFilter.rebuild();
+
+        assertFalse(bloomFilter.mightContain("novo@teste.com"));
+        bloomFilter.put("novo@teste.com");
+        assertTrue(bloomFilter.mightContain("novo@teste.com"));
+    }
+
+    @Test
+    void testRebuildFailure_KeepsPreviousFilter() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of("a@teste.com"));
+        bloomFilter.rebuild();
+
+        when(pixKeyRepository.streamActiveKeyValues()).thenThrow(new RuntimeException("db down"));
+        bloomFilter.rebuild();
+
+        assertTrue(bloomFilter.mightContain("a@teste.com"));
+        assertFalse(bloomFilter.mightContain("d@teste.com"));
+    }
+
+    @Test
+    void testObservedFalsePositiveRate() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.empty());
+        bloomFilter.rebuild();
+
+        bloomFilter.mightContain("x@teste.com");
+        bloomFilter.recordFalsePositive();
+
+        assertEquals(0.5, meterRegistry.get("pix.key.bloom.fpp.observed").gauge().value());
+    }
+}
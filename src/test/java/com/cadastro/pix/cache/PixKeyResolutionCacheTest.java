@@ -0,0 +1,72 @@
+package com.cadastro.pix.cache;
+
+import com.cadastro.pix.dto.account.SimpleAccountWithUserDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
+import com.cadastro.pix.dto.user.SimpleUserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PixKeyResolutionCacheTest {
+
+    private PixKeyResolutionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PixKeyResolutionCache(100, Duration.ofMinutes(10));
+    }
+
+    private PixKeyWithAccountDTO resolved(UUID accountId, UUID userId) {
+        SimpleUserDTO user = new SimpleUserDTO();
+        user.setId(userId);
+
+        SimpleAccountWithUserDTO account = new SimpleAccountWithUserDTO(accountId);
+        account.setUser(user);
+
+        PixKeyWithAccountDTO pixKey = new PixKeyWithAccountDTO();
+        pixKey.setId(UUID.randomUUID());
+        pixKey.setAccount(account);
+        return pixKey;
+    }
+
+    @Test
+    void testPutGetInvalidate() {
+        PixKeyWithAccountDTO pixKey = resolved(UUID.randomUUID(), UUID.randomUUID());
+
+        cache.put("teste@teste.com", pixKey);
+        assertSame(pixKey, cache.get("teste@teste.com"));
+
+        cache.invalidate("teste@teste.com");
+        assertNull(cache.get("teste@teste.com"));
+    }
+
+    @Test
+    void testInvalidateAccount_RemovesOnlyKeysOfThatAccount() {
+        UUID accountId = UUID.randomUUID();
+        cache.put("a@teste.com", resolved(accountId, UUID.randomUUID()));
+        cache.put("b@teste.com", resolved(accountId, UUID.randomUUID()));
+        cache.put("c@teste.com", resolved(UUID.randomUUID(), UUID.randomUUID()));
+
+        cache.invalidateAccount(accountId);
+
+        assertNull(cache.get("a@teste.com"));
+        assertNull(cache.get("b@teste.com"));
+        assertNotNull(cache.get("c@teste.com"));
+    }
+
+    @Test
+    void testInvalidateUser_RemovesOnlyKeysOfThatUser() {
+        UUID userId = UUID.randomUUID();
+        cache.put("a@teste.com", resolved(UUID.randomUUID(), userId));
+        cache.put("c@teste.com", resolved(UUID.randomUUID(), UUID.randomUUID()));
+
+        cache.invalidateUser(userId);
+
+        assertNull(cache.get("a@teste.com"));
+        assertNotNull(cache.get("c@teste.com"));
+    }
+}
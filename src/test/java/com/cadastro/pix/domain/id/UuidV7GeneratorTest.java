@@ -0,0 +1,41 @@
+package com.cadastro.pix.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    void testVersionAndVariant() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testTimestampIsCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        // o contador pode adiantar o timestamp quando varios ids saem no mesmo ms
+        assertTrue(timestamp >= before && timestamp <= after + 1000, "timestamp: " + timestamp);
+    }
+
+    @Test
+    void testStrictlyIncreasingInByteOrder() {
+        // BINARY(16) compara byte a byte sem sinal, o que equivale a comparar msb e lsb sem sinal
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            int msb = Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits());
+            assertTrue(msb < 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+}
@@ -1,12 +1,27 @@
 package com.cadastro.pix.exceptions.controller;
 
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.exception.EntityNotFoundException;
+import com.cadastro.pix.exception.controller.GlobalExceptionHandler;
 import com.cadastro.pix.service.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -21,11 +36,49 @@ public class GlobalExceptionHandlerTest {
     @MockBean
     private UserServiceImpl userService;
 
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testHandleEntityNotFound_RecordsErrorOnObservation() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pix/1");
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        request.setAttribute(ServerHttpObservationFilter.CURRENT_OBSERVATION_CONTEXT_ATTRIBUTE, context);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        EntityNotFoundException ex = new EntityNotFoundException("PixKey not found");
+
+        ResponseEntity<RespDTO> response = handler.handleEntityNotFound(ex);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertSame(ex, context.getError());
+    }
+
+    @Test
+    public void testHandleIllegalArgument_WithoutObservation() {
+        ResponseEntity<RespDTO> response = handler.handleIllegalArgument(new IllegalArgumentException("Invalid key"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Invalid key", response.getBody().getMessage());
+    }
+
+    @Test
+    public void testHandleCannotCreateTransaction_ServiceUnavailable() {
+        ResponseEntity<RespDTO> response = handler.handleCannotCreateTransaction(
+                new CannotCreateTransactionException("Connection is not available, request timed out after 2000ms"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Database connection unavailable", response.getBody().getMessage());
+    }
+
 
 //    @Test
 //    public void testHandleEntityNotFound() throws Exception {
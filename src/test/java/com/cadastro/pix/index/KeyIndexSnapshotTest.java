@@ -0,0 +1,119 @@
+package com.cadastro.pix.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyIndexSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testWriteAndRead_RoundTrip() throws IOException {
+        KeyIndex index = new KeyIndex();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String value = switch (i % 5) {
+                case 0 -> String.format("%011d", i);
+                case 1 -> String.format("%014d", i);
+                case 2 -> "+5511" + (900_000_000 + i);
+                case 3 -> UUID.randomUUID().toString();
+                default -> "chave" + i + "@teste.com";
+            };
+            index.add(value);
+            expected.add(value);
+        }
+        index.remove("chave4@teste.com");
+        expected.remove("chave4@teste.com");
+        LocalDateTime coveredUntil = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_000_000);
+
+        Path file = dir.resolve("index.snapshot");
+        KeyIndexSnapshot.write(file, index, coveredUntil, 42);
+        KeyIndexSnapshot.Loaded loaded = KeyIndexSnapshot.read(file);
+
+        assertEquals(coveredUntil, loaded.coveredUntil());
+        assertEquals(42, loaded.generation());
+        assertEquals(expected.size(), loaded.index().size());
+        assertEquals(index.memoryBytes(), loaded.index().memoryBytes());
+        expected.forEach(value -> assertTrue(loaded.index().contains(value), value));
+        assertFalse(loaded.index().contains("chave4@teste.com"));
+
+        loaded.index().add("nova@teste.com");
+        assertTrue(loaded.index().contains("nova@teste.com"));
+        assertEquals(expected.size() + 1, loaded.index().size());
+    }
+
+    @Test
+    void testRead_TruncatedFileFails() throws IOException {
+        KeyIndex index = new KeyIndex();
+        index.add("teste@teste.com");
+        Path file = dir.resolve("index.snapshot");
+        KeyIndexSnapshot.write(file, index, LocalDateTime.now(), 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        assertThrows(IOException.class, () -> KeyIndexSnapshot.read(file));
+    }
+
+    // a versao 1 guardava a conta de cada chave; o arquivo e recusado e quem chama reconstroi o indice
+    @Test
+    void testRead_PreviousVersionFails() throws IOException {
+        KeyIndex index = new KeyIndex();
+        index.add("teste@teste.com");
+        Path file = dir.resolve("index.snapshot");
+        KeyIndexSnapshot.write(file, index, LocalDateTime.now(), 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 0, 0, 0}), Integer.BYTES);
+        }
+
+        assertThrows(IOException.class, () -> KeyIndexSnapshot.read(file));
+    }
+
+    @Test
+    void testChangeLog_ReplaysGenerationsAndStopsAtTornTail() throws IOException {
+        try (KeyChangeLog log = new KeyChangeLog(dir)) {
+            log.open();
+            assertEquals(1, log.generation());
+            log.put("a@teste.com");
+            log.put("b@teste.com");
+
+            assertEquals(2, log.rotate());
+            log.remove("a@teste.com");
+            log.put("48428781850");
+        }
+        Path last = dir.resolve("changes-2.log");
+        Files.write(last, new byte[]{0, 20, 1, 9}, StandardOpenOption.APPEND);
+
+        KeyIndex index = new KeyIndex();
+        KeyChangeLog log = new KeyChangeLog(dir);
+        log.open();
+        assertEquals(3, log.generation());
+
+        assertEquals(4, log.replay(1, 3, index));
+        assertFalse(index.contains("a@teste.com"));
+        assertTrue(index.contains("b@teste.com"));
+        assertTrue(index.contains("48428781850"));
+
+        log.deleteBefore(3);
+        log.close();
+        assertFalse(Files.exists(dir.resolve("changes-1.log")));
+        assertFalse(Files.exists(last));
+        assertTrue(Files.exists(dir.resolve("changes-3.log")));
+    }
+}
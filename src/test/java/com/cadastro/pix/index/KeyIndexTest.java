@@ -0,0 +1,109 @@
+package com.cadastro.pix.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyIndexTest {
+
+    @Test
+    void testKind_DetectedFromFormat() {
+        assertEquals(KeyIndex.CPF, KeyIndex.kind("48428781850"));
+        assertEquals(KeyIndex.CNPJ, KeyIndex.kind("12345678000195"));
+        assertEquals(KeyIndex.PHONE, KeyIndex.kind("+5511987654321"));
+        assertEquals(KeyIndex.RANDOM, KeyIndex.kind("123e4567-e89b-12d3-a456-426614174000"));
+        assertEquals(KeyIndex.OTHER, KeyIndex.kind("123E4567-E89B-12D3-A456-426614174000"));
+        assertEquals(KeyIndex.OTHER, KeyIndex.kind("00000000-0000-0000-0000-000000000000"));
+        assertEquals(KeyIndex.OTHER, KeyIndex.kind("teste@teste.com"));
+    }
+
+    @Test
+    void testAddContainsAndRemove_EachKind() {
+        KeyIndex index = new KeyIndex();
+        String[] values = {
+                "48428781850",
+                "12345678000195",
+                "+5511987654321",
+                "123e4567-e89b-12d3-a456-426614174000",
+                "123E4567-E89B-12D3-A456-426614174000",
+                "teste@teste.com"
+        };
+
+        for (String value : values) {
+            assertFalse(index.contains(value));
+            index.add(value);
+            assertTrue(index.contains(value));
+        }
+        index.add(values[0]);
+        assertEquals(values.length, index.size());
+
+        for (String value : values) {
+            assertTrue(index.remove(value));
+            assertFalse(index.contains(value));
+            assertFalse(index.remove(value));
+        }
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testEncoding_ZerosAndLengthsAreDistinct() {
+        KeyIndex index = new KeyIndex();
+
+        index.add("00000000000");
+        index.add("+55119876543");
+
+        assertTrue(index.contains("00000000000"));
+        assertFalse(index.contains("00000000000000"));
+        assertTrue(index.contains("+55119876543"));
+        assertFalse(index.contains("+055119876543"));
+        assertFalse(index.contains("+0055119876543"));
+    }
+
+    @Test
+    void testRandomOperations_MatchHashSet() {
+        KeyIndex index = new KeyIndex();
+        Set<String> expected = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            String value = randomValue(random);
+            seen.add(value);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(value), index.remove(value), value);
+            } else {
+                expected.add(value);
+                index.add(value);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        seen.forEach(value -> assertEquals(expected.contains(value), index.contains(value), value));
+    }
+
+    @Test
+    void testMemory_MuchSmallerThanStrings() {
+        KeyIndex index = new KeyIndex();
+        for (int i = 0; i < 100_000; i++) {
+            index.add(String.format("%011d", i * 7919L));
+        }
+
+        // uma String de 11 caracteres mais a entrada de um HashMap passam de 100 bytes
+        assertTrue(index.memoryBytes() / index.size() < 40, "bytes per key: " + index.memoryBytes() / index.size());
+    }
+
+    private String randomValue(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> String.format("%011d", random.nextInt(5_000));
+            case 1 -> String.format("%014d", random.nextInt(5_000));
+            case 2 -> "+55" + (11_900_000_000L + random.nextInt(5_000));
+            case 3 -> new UUID(random.nextInt(5_000) + 1, random.nextInt(3)).toString();
+            default -> "chave" + random.nextInt(5_000) + "@teste.com";
+        };
+    }
+}
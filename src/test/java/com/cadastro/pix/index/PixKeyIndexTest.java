@@ -0,0 +1,181 @@
+package com.cadastro.pix.index;
+
+import com.cadastro.pix.repository.PixKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PixKeyIndexTest {
+
+    private PixKeyRepository pixKeyRepository;
+    private MeterRegistry meterRegistry;
+    private PixKeyIndex pixKeyIndex;
+
+    @BeforeEach
+    void setUp() {
+        pixKeyRepository = mock(PixKeyRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        pixKeyIndex = new PixKeyIndex(pixKeyRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, true, Duration.ofSeconds(30), "", Duration.ofHours(24));
+    }
+
+    @Test
+    void testNotReady_AlwaysContains() {
+        assertFalse(pixKeyIndex.isReady());
+        assertTrue(pixKeyIndex.contains("teste@teste.com"));
+    }
+
+    @Test
+    void testRebuild_LoadsActiveAndRecentKeys() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of(
+                "a@teste.com", "48428781850"));
+        when(pixKeyRepository.findActiveKeyValuesCreatedSince(any()))
+                .thenReturn(List.of("+5511987654321"));
+
+        pixKeyIndex.rebuild();
+
+        assertTrue(pixKeyIndex.isReady());
+        assertTrue(pixKeyIndex.contains("a@teste.com"));
+        assertTrue(pixKeyIndex.contains("48428781850"));
+        assertTrue(pixKeyIndex.contains("+5511987654321"));
+        assertFalse(pixKeyIndex.contains("b@teste.com"));
+        assertEquals(3.0, meterRegistry.get("pix.key.index.entries").gauge().value());
+        assertTrue(meterRegistry.get("pix.key.index.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void testPutAndRemove_AfterRebuild() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.empty());
+        pixKeyIndex.rebuild();
+
+        pixKeyIndex.put("novo@teste.com");
+        assertTrue(pixKeyIndex.contains("novo@teste.com"));
+
+        pixKeyIndex.remove("novo@teste.com");
+        assertFalse(pixKeyIndex.contains("novo@teste.com"));
+    }
+
+    @Test
+    void testRebuild_KeepsWritesMadeWhileLoading() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenAnswer(invocation -> {
+            pixKeyIndex.put("durante@teste.com");
+            pixKeyIndex.remove("a@teste.com");
+            return Stream.of("a@teste.com", "b@teste.com");
+        });
+
+        pixKeyIndex.rebuild();
+
+        assertTrue(pixKeyIndex.contains("durante@teste.com"));
+        assertFalse(pixKeyIndex.contains("a@teste.com"));
+        assertTrue(pixKeyIndex.contains("b@teste.com"));
+    }
+
+    @Test
+    void testRefresh_AddsKeysCreatedElsewhere() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.empty());
+        pixKeyIndex.rebuild();
+
+        when(pixKeyRepository.findActiveKeyValuesCreatedSince(any()))
+                .thenReturn(List.of("outro@teste.com"));
+        pixKeyIndex.refresh();
+
+        assertTrue(pixKeyIndex.contains("outro@teste.com"));
+    }
+
+    @Test
+    void testRebuildFailure_KeepsPreviousIndex() {
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of("a@teste.com"));
+        pixKeyIndex.rebuild();
+
+        when(pixKeyRepository.streamActiveKeyValues()).thenThrow(new RuntimeException("db down"));
+        pixKeyIndex.rebuild();
+
+        assertTrue(pixKeyIndex.contains("a@teste.com"));
+        assertFalse(pixKeyIndex.contains("b@teste.com"));
+    }
+
+    @Test
+    void testDisabled_NeverLoads() {
+        PixKeyIndex disabled = new PixKeyIndex(pixKeyRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(), false, Duration.ofSeconds(30), "", Duration.ofHours(24));
+
+        disabled.initialize();
+
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.contains("a@teste.com"));
+    }
+
+    @Test
+    void testRestart_RestoresSnapshotAndChangeLog(@TempDir Path dir) {
+        PixKeyIndex first = withSnapshots(dir);
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of(
+                "a@teste.com", "b@teste.com"));
+        first.initialize();
+        assertTrue(Files.exists(dir.resolve("pix-key-index.snapshot")));
+
+        first.put("c@teste.com");
+        first.remove("a@teste.com");
+        first.shutdown();
+
+        PixKeyRepository restartedRepository = mock(PixKeyRepository.class);
+        when(restartedRepository.findActiveKeyValuesCreatedSince(any()))
+                .thenReturn(List.of("outro@teste.com"));
+        PixKeyIndex restarted = new PixKeyIndex(restartedRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(), true, Duration.ofSeconds(30), dir.toString(), Duration.ofHours(24));
+        restarted.initialize();
+
+        assertTrue(restarted.isReady());
+        verify(restartedRepository, never()).streamActiveKeyValues();
+        assertFalse(restarted.contains("a@teste.com"));
+        assertTrue(restarted.contains("b@teste.com"));
+        assertTrue(restarted.contains("c@teste.com"));
+        assertTrue(restarted.contains("outro@teste.com"));
+        restarted.shutdown();
+    }
+
+    @Test
+    void testRestart_StaleSnapshotRebuilds(@TempDir Path dir) {
+        PixKeyIndex first = withSnapshots(dir);
+        when(pixKeyRepository.streamActiveKeyValues()).thenReturn(Stream.of("a@teste.com"));
+        first.initialize();
+        first.shutdown();
+
+        PixKeyRepository restartedRepository = mock(PixKeyRepository.class);
+        when(restartedRepository.streamActiveKeyValues()).thenReturn(Stream.of("b@teste.com"));
+        PixKeyIndex restarted = new PixKeyIndex(restartedRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(), true, Duration.ofSeconds(30), dir.toString(), Duration.ZERO);
+        restarted.initialize();
+
+        verify(restartedRepository).streamActiveKeyValues();
+        assertFalse(restarted.contains("a@teste.com"));
+        assertTrue(restarted.contains("b@teste.com"));
+        restarted.shutdown();
+    }
+
+    private PixKeyIndex withSnapshots(Path dir) {
+        return new PixKeyIndex(pixKeyRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(), true, Duration.ofSeconds(30), dir.toString(), Duration.ofHours(24));
+    }
+}
@@ -0,0 +1,85 @@
+package com.cadastro.pix.jdbc;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryListenerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryListener.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private List<QueryInfo> queries;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.WARN);
+
+        QueryInfo query = new QueryInfo("SELECT * FROM pix_key WHERE key_value = ?");
+        query.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{1, "a@teste.com"})));
+        queries = List.of(query);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void testAfterQuery_LogsSlowQueryWithParameters() {
+        new SlowQueryListener(Duration.ofMillis(100), true).afterQuery(execution(150), queries);
+
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("150 ms"));
+        assertTrue(message.contains("SELECT * FROM pix_key WHERE key_value = ?"));
+        assertTrue(message.contains("a@teste.com"));
+    }
+
+    @Test
+    public void testAfterQuery_OmitsParametersWhenDisabled() {
+        new SlowQueryListener(Duration.ofMillis(100), false).afterQuery(execution(150), queries);
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("SELECT * FROM pix_key WHERE key_value = ?"));
+        assertFalse(message.contains("a@teste.com"));
+    }
+
+    @Test
+    public void testAfterQuery_IgnoresFastQuery() {
+        new SlowQueryListener(Duration.ofMillis(100), true).afterQuery(execution(99), queries);
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    public void testAfterQuery_ZeroThresholdDisablesLog() {
+        new SlowQueryListener(Duration.ZERO, true).afterQuery(execution(5000), queries);
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cadastro.pix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conta os statements JDBC executados pela thread atual durante uma chamada, pelo mesmo contador do
+ * datasource-proxy usado nas requisiçoes. So funciona em testes que sobem o contexto do Spring
+ * (o DataSource precisa estar envolvido pelo DataSourceProxyPostProcessor).
+ */
+public final class StatementCounter {
+
+    private StatementCounter() {
+    }
+
+    public static long count(Runnable call) {
+        RequestQueryCount.reset();
+        try {
+            call.run();
+            return RequestQueryCount.current().getTotal();
+        } finally {
+            RequestQueryCount.reset();
+        }
+    }
+
+    public static void assertAtMost(long maxStatements, Runnable call) {
+        long statements = count(call);
+        assertTrue(statements <= maxStatements,
+                () -> "Expected at most " + maxStatements + " statements, but " + statements + " were executed");
+    }
+}
@@ -0,0 +1,97 @@
+package com.cadastro.pix.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeteredAsyncAppender appender;
+
+    // Segura a thread do AsyncAppender no primeiro evento, para a fila encher
+    private class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        @Override
+        protected void append(ILoggingEvent event) {
+            writing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        BlockingAppender blocking = new BlockingAppender();
+        blocking.setContext(context);
+        blocking.start();
+
+        appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, "message", null, null);
+    }
+
+    @Test
+    public void testCountsDiscardedEvents() throws InterruptedException {
+        appender.doAppend(event(Level.INFO));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Fila vazia de 4 posiçoes: 3 entram, o INFO seguinte cai abaixo do limite, o WARN ocupa a ultima posiçao
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.WARN));
+        assertEquals(1, appender.getDiscardedCount());
+        assertEquals(4, appender.getNumberOfElementsInQueue());
+
+        // Fila cheia com neverBlock: descarta ate WARN em vez de bloquear a thread
+        appender.doAppend(event(Level.ERROR));
+        assertEquals(2, appender.getDiscardedCount());
+    }
+
+    @Test
+    public void testMetrics() {
+        context.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new LoggingMetrics().bindTo(registry, context);
+
+        assertEquals(4, registry.get("logging.async.queue.capacity").tag("appender", "ASYNC").gauge().value());
+        assertEquals(0, registry.get("logging.async.queue.depth").gauge().value());
+        assertEquals(0, registry.get("logging.async.discarded").functionCounter().count());
+    }
+}
@@ -0,0 +1,101 @@
+package com.cadastro.pix.logging;
+
+import com.cadastro.pix.jdbc.RequestQueryCount;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTaggingFilterTest {
+
+    private RequestTaggingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new RequestTaggingFilter(() -> "generated-1");
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        MDC.clear();
+    }
+
+    @Test
+    public void testDoFilter_GeneratesIdWhenHeaderMissing() throws Exception {
+        AtomicReference<String> idInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, resp) -> idInChain.set(MDC.get(RequestTaggingFilter.MDC_KEY)));
+
+        assertEquals("generated-1", idInChain.get());
+        assertEquals("generated-1", response.getHeader(RequestTaggingFilter.REQUEST_ID_HEADER));
+        assertNotNull(request.getAttribute(RequestTaggingFilter.START_NANOS_ATTRIBUTE));
+    }
+
+    @Test
+    public void testDoFilter_ReusesIncomingHeader() throws Exception {
+        request.addHeader(RequestTaggingFilter.REQUEST_ID_HEADER, "gateway-abc.123");
+        AtomicReference<String> idInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, resp) -> idInChain.set(MDC.get(RequestTaggingFilter.MDC_KEY)));
+
+        assertEquals("gateway-abc.123", idInChain.get());
+        assertEquals("gateway-abc.123", response.getHeader(RequestTaggingFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    public void testDoFilter_IgnoresInvalidIncomingHeader() throws Exception {
+        request.addHeader(RequestTaggingFilter.REQUEST_ID_HEADER, "abc\nfake log line");
+
+        filter.doFilter(request, response, (req, resp) -> { });
+
+        assertEquals("generated-1", response.getHeader(RequestTaggingFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    public void testDoFilter_ClearsMdcAfterRequest() throws Exception {
+        filter.doFilter(request, response, (req, resp) -> { });
+
+        assertNull(MDC.get(RequestTaggingFilter.MDC_KEY));
+    }
+
+    @Test
+    public void testDoFilter_ClearsMdcWhenChainThrows() {
+        FilterChain failingChain = (req, resp) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, response, failingChain));
+        assertNull(MDC.get(RequestTaggingFilter.MDC_KEY));
+    }
+
+    @Test
+    public void testDoFilter_CountsStatementsPerRequest() throws Exception {
+        QueryCount leftover = new QueryCount();
+        leftover.setTotal(5);
+        QueryCountHolder.put("dataSource", leftover);
+        AtomicLong countInChain = new AtomicLong(-1);
+
+        filter.doFilter(request, response, (req, resp) -> countInChain.set(RequestQueryCount.current().getTotal()));
+
+        assertEquals(0, countInChain.get());
+        assertEquals(0, RequestQueryCount.current().getTotal());
+    }
+
+    @Test
+    public void testIsValidRequestId() {
+        assertTrue(RequestTaggingFilter.isValidRequestId("0f8fad5b-d9cb-469f-a165-70867728950e"));
+        assertFalse(RequestTaggingFilter.isValidRequestId(null));
+        assertFalse(RequestTaggingFilter.isValidRequestId(""));
+        assertFalse(RequestTaggingFilter.isValidRequestId("a b"));
+        assertFalse(RequestTaggingFilter.isValidRequestId("x".repeat(65)));
+    }
+}
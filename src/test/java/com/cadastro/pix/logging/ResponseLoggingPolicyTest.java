@@ -0,0 +1,103 @@
+package com.cadastro.pix.logging;
+
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.dto.user.UserDTO;
+import com.cadastro.pix.dto.user.UserListDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ResponseLoggingPolicyTest {
+
+    private Logger logger;
+    private RespDTO respDTO;
+
+    @BeforeEach
+    public void setUp() {
+        logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        respDTO = new RespDTO(HttpStatus.OK, new UserListDTO(List.of(new UserDTO(UUID.randomUUID()), new UserDTO(UUID.randomUUID())), null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testSummary_LogsCountInsteadOfResponse() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestTaggingFilter.START_NANOS_ATTRIBUTE, System.nanoTime());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        new ResponseLoggingPolicy("summary", 1.0).log(logger, "Users retrieved successfully", respDTO);
+
+        verify(logger).info(eq("{} [status={}, type={}, elements={}, latencyMs={}]"),
+                eq("Users retrieved successfully"), eq(200), eq("UserListDTO"), eq(2), longThat(latency -> latency >= 0));
+    }
+
+    @Test
+    public void testSummary_WithoutRequestContext() {
+        new ResponseLoggingPolicy("SUMMARY", 0).log(logger, "Users retrieved successfully", respDTO);
+
+        verify(logger).info(anyString(), eq("Users retrieved successfully"), eq(200), eq("UserListDTO"), eq(2), eq(-1L));
+    }
+
+    @Test
+    public void testSampled_LogsFullResponse() {
+        new ResponseLoggingPolicy("sampled", 1.0).log(logger, "Users retrieved successfully", respDTO);
+
+        verify(logger).info("{}: {}", "Users retrieved successfully", respDTO);
+    }
+
+    @Test
+    public void testSampled_FallsBackToSummary() {
+        new ResponseLoggingPolicy("sampled", 0).log(logger, "Users retrieved successfully", respDTO);
+
+        verify(logger, never()).info("{}: {}", "Users retrieved successfully", respDTO);
+        verify(logger).info(anyString(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testOff_LogsNothing() {
+        ResponseLoggingPolicy policy = new ResponseLoggingPolicy("off", 1.0);
+        policy.log(logger, "Users retrieved successfully", respDTO);
+
+        assertEquals(ResponseLoggingPolicy.Mode.OFF, policy.getMode());
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void testInfoDisabled_LogsNothing() {
+        when(logger.isInfoEnabled()).thenReturn(false);
+
+        new ResponseLoggingPolicy("summary", 1.0).log(logger, "Users retrieved successfully", respDTO);
+
+        verify(logger, never()).info(anyString(), any(Object[].class));
+    }
+
+    @Test
+    public void testMessageResponse() {
+        new ResponseLoggingPolicy("summary", 0).log(logger, "Failed", new RespDTO(HttpStatus.NOT_FOUND, "User not found"));
+
+        verify(logger).info(anyString(), eq("Failed"), eq(404), eq("none"), eq(0), eq(-1L));
+    }
+
+    @Test
+    public void testElementCount() {
+        assertEquals(1, new UserDTO(UUID.randomUUID()).elementCount());
+        assertEquals(0, new UserListDTO(null, null).elementCount());
+    }
+}
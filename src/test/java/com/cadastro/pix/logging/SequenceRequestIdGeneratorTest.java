@@ -0,0 +1,80 @@
+package com.cadastro.pix.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SequenceRequestIdGeneratorTest {
+
+    @Test
+    public void testNext_UsesConfiguredPrefix() {
+        SequenceRequestIdGenerator generator = new SequenceRequestIdGenerator("node1", false);
+
+        assertEquals("node1-0", generator.next());
+        assertEquals("node1-1", generator.next());
+    }
+
+    @Test
+    public void testNext_RandomPrefixWhenNotConfigured() {
+        SequenceRequestIdGenerator generator = new SequenceRequestIdGenerator("", false);
+
+        assertTrue(generator.getPrefix().matches("[0-9a-z]{8}-"));
+        assertTrue(generator.next().startsWith(generator.getPrefix()));
+        assertNotEquals(generator.getPrefix(), new SequenceRequestIdGenerator(" ", false).getPrefix());
+    }
+
+    @Test
+    public void testNext_VirtualThreadsTakeEachIdFromTheCounter() throws Exception {
+        SequenceRequestIdGenerator generator = new SequenceRequestIdGenerator("node1", true);
+        List<String> ids = new ArrayList<>();
+
+        // uma thread por requisiçao, como no modo virtual: a sequencia nao pula um bloco por thread
+        for (int i = 0; i < 3; i++) {
+            Thread thread = new Thread(() -> ids.add(generator.next()));
+            thread.start();
+            thread.join();
+        }
+
+        assertEquals(List.of("node1-0", "node1-1", "node1-2"), ids);
+    }
+
+    @Test
+    public void testNext_UniqueAcrossThreadsAndBlocks() throws Exception {
+        assertUniqueAcrossThreads(new SequenceRequestIdGenerator("n", false));
+    }
+
+    @Test
+    public void testNext_UniqueAcrossThreadsWithVirtualThreads() throws Exception {
+        assertUniqueAcrossThreads(new SequenceRequestIdGenerator("n", true));
+    }
+
+    private void assertUniqueAcrossThreads(SequenceRequestIdGenerator generator) throws Exception {
+        int threads = 8;
+        int perThread = SequenceRequestIdGenerator.BLOCK_SIZE * 3 + 7;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+}
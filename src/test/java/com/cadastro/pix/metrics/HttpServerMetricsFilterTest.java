@@ -0,0 +1,40 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpServerMetricsFilterTest {
+
+    private final HttpServerMetricsFilter filter = new HttpServerMetricsFilter();
+
+    private final DistributionStatisticConfig fromProperties = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .serviceLevelObjectives(Duration.ofMillis(50).toNanos())
+            .build();
+
+    @Test
+    public void testConfigure_DisablesDistributionForActiveRequests() {
+        Meter.Id id = new Meter.Id(HttpServerMetricsFilter.ACTIVE_REQUESTS, Tags.of("uri", "/api/pix"), null, null, Meter.Type.LONG_TASK_TIMER);
+
+        DistributionStatisticConfig config = filter.configure(id, fromProperties);
+
+        assertFalse(config.isPercentileHistogram());
+        assertEquals(0, config.getServiceLevelObjectiveBoundaries().length);
+    }
+
+    @Test
+    public void testConfigure_KeepsRequestHistogram() {
+        Meter.Id id = new Meter.Id("http.server.requests", Tags.of("uri", "/api/pix"), null, null, Meter.Type.TIMER);
+
+        DistributionStatisticConfig config = filter.configure(id, fromProperties);
+
+        assertTrue(config.isPercentileHistogram());
+        assertEquals(1, config.getServiceLevelObjectiveBoundaries().length);
+    }
+}
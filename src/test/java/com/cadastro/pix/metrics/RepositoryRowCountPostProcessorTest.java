@@ -0,0 +1,72 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RepositoryRowCountPostProcessorTest {
+
+    interface SampleRepository {
+        List<String> findAll();
+
+        long countByActive(boolean active);
+
+        @Modifying
+        int deactivate();
+    }
+
+    @Test
+    public void testRowCount() throws Exception {
+        Method findAll = SampleRepository.class.getMethod("findAll");
+        Method count = SampleRepository.class.getMethod("countByActive", boolean.class);
+        Method deactivate = SampleRepository.class.getMethod("deactivate");
+
+        assertEquals(3, RepositoryRowCountPostProcessor.rowCount(findAll, List.of("a", "b", "c")));
+        assertEquals(2, RepositoryRowCountPostProcessor.rowCount(findAll, new PageImpl<>(List.of("a", "b"))));
+        assertEquals(1, RepositoryRowCountPostProcessor.rowCount(findAll, Optional.of("a")));
+        assertEquals(0, RepositoryRowCountPostProcessor.rowCount(findAll, Optional.empty()));
+        assertEquals(0, RepositoryRowCountPostProcessor.rowCount(findAll, null));
+        assertEquals(1, RepositoryRowCountPostProcessor.rowCount(findAll, new Object()));
+        assertEquals(1, RepositoryRowCountPostProcessor.rowCount(count, 1_000_000L));
+        assertEquals(7, RepositoryRowCountPostProcessor.rowCount(deactivate, 7));
+        assertEquals(-1, RepositoryRowCountPostProcessor.rowCount(findAll, true));
+        assertEquals(-1, RepositoryRowCountPostProcessor.rowCount(findAll, Stream.of("a")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInterceptor_RecordsRowsPerMethod() throws Throwable {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+        RepositoryRowCountPostProcessor.RowCountInterceptor interceptor =
+                new RepositoryRowCountPostProcessor.RowCountInterceptor(provider, "SampleRepository");
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(SampleRepository.class.getMethod("findAll"));
+        when(invocation.proceed()).thenReturn(List.of("a", "b"), List.of("c"));
+
+        assertEquals(List.of("a", "b"), interceptor.invoke(invocation));
+        interceptor.invoke(invocation);
+
+        DistributionSummary summary = registry.get(RepositoryRowCountPostProcessor.METRIC_NAME)
+                .tag("repository", "SampleRepository")
+                .tag("method", "findAll")
+                .summary();
+        assertEquals(2, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+    }
+}
@@ -0,0 +1,39 @@
+package com.cadastro.pix.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void testSource_FirstFrameOutsideJdk() {
+        List<String> frames = List.of(
+                "jdk.internal.misc.Unsafe.park",
+                "java.util.concurrent.locks.LockSupport.park",
+                "java.net.SocketInputStream.read",
+                "com.mysql.cj.protocol.ReadAheadInputStream.fill",
+                "com.mysql.cj.jdbc.ClientPreparedStatement.executeQuery",
+                "com.cadastro.pix.service.PixKeyServiceImpl.resolvePixKey");
+
+        assertEquals("com.mysql.cj.protocol.ReadAheadInputStream", VirtualThreadPinningMonitor.source(frames));
+    }
+
+    @Test
+    void testSource_OnlyJdkFrames() {
+        assertEquals("jdk", VirtualThreadPinningMonitor.source(List.of("java.lang.Object.wait")));
+        assertEquals("unknown", VirtualThreadPinningMonitor.source(List.of()));
+    }
+
+    @Test
+    void testStartAndStop_DoNotFailOnAnyRuntime() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), Duration.ofMillis(20));
+
+        monitor.start();
+        monitor.stop();
+    }
+}
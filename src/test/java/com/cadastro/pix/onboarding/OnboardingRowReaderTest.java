@@ -0,0 +1,98 @@
+package com.cadastro.pix.onboarding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnboardingRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OnboardingRowReader reader(String content, OnboardingRowReader.Format format) throws IOException {
+        return new OnboardingRowReader(new BufferedReader(new StringReader(content)), format, objectMapper);
+    }
+
+    @Test
+    public void testCsv_MapsColumnsByHeader() throws IOException {
+        String csv = "identification,personType,userName,userLastName,phone,email,accountType,agencyNumber,accountNumber\n" +
+                "48428781850,fisica,João,\"Silva, Santos\",+5511998765432,joao@teste.com,corrente,1234,12345678\n";
+
+        try (OnboardingRowReader reader = reader(csv, OnboardingRowReader.Format.CSV)) {
+            OnboardingRow row = reader.next();
+
+            assertFalse(row.isRejected());
+            assertEquals(2, row.getLine());
+            assertEquals("48428781850", row.getData().getIdentification());
+            assertEquals("Silva, Santos", row.getData().getUserLastName());
+            assertEquals(1234, row.getData().getAgencyNumber());
+            assertEquals(12345678, row.getData().getAccountNumber());
+            assertTrue(row.getData().hasAccount());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testCsv_EmptyColumnsAreNullAndBlankLinesSkipped() throws IOException {
+        String csv = "personType,userName,userLastName,identification,phone,email\n" +
+                "\n" +
+                "fisica,João,,48428781850,+5511998765432,joao@teste.com\n";
+
+        try (OnboardingRowReader reader = reader(csv, OnboardingRowReader.Format.CSV)) {
+            OnboardingRow row = reader.next();
+
+            assertEquals(3, row.getLine());
+            assertNull(row.getData().getUserLastName());
+            assertFalse(row.getData().hasAccount());
+        }
+    }
+
+    @Test
+    public void testCsv_MalformedRowsAreRejected() throws IOException {
+        String csv = "personType,userName,agencyNumber\n" +
+                "fisica,João\n" +
+                "fisica,João,abc\n" +
+                "fisica,João,1234\n";
+
+        try (OnboardingRowReader reader = reader(csv, OnboardingRowReader.Format.CSV)) {
+            assertEquals("Invalid row format", reader.next().getError());
+            assertEquals("Invalid row format", reader.next().getError());
+            assertFalse(reader.next().isRejected());
+        }
+    }
+
+    @Test
+    public void testCsv_MissingHeader() {
+        assertThrows(IllegalArgumentException.class, () -> reader("", OnboardingRowReader.Format.CSV));
+    }
+
+    @Test
+    public void testNdjson_ParsesEachLine() throws IOException {
+        String ndjson = "{\"personType\":\"juridica\",\"identification\":\"06947283000160\",\"agencyNumber\":1}\n" +
+                "not json\n" +
+                "{\"personType\":\"fisica\",\"unknown\":true}\n";
+
+        try (OnboardingRowReader reader = reader(ndjson, OnboardingRowReader.Format.NDJSON)) {
+            OnboardingRow first = reader.next();
+            assertEquals("06947283000160", first.getData().getIdentification());
+            assertEquals(1, first.getLine());
+
+            OnboardingRow second = reader.next();
+            assertTrue(second.isRejected());
+            assertEquals(2, second.getLine());
+
+            assertEquals("fisica", reader.next().getData().getPersonType());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testSplitCsvLine_EscapedQuotes() {
+        assertEquals(List.of("a", "b \"c\"", ""), OnboardingRowReader.splitCsvLine("a,\"b \"\"c\"\"\","));
+    }
+}
@@ -0,0 +1,136 @@
+package com.cadastro.pix.repository;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID seedAccount() {
+        User user = new User();
+        user.setPersonType("fisica");
+        user.setUserName("Joao");
+        user.setIdentification("48428781850");
+        user.setPhone("+5511998765432");
+        user.setEmail("joao@teste.com");
+        user.setActive(true);
+        entityManager.persist(user);
+
+        Account account = new Account();
+        account.setAccountType("corrente");
+        account.setAgencyNumber(1234);
+        account.setAccountNumber(12345678);
+        account.setUser(user);
+        account.setActive(true);
+        entityManager.persist(account);
+        entityManager.flush();
+        entityManager.clear();
+        return account.getId();
+    }
+
+    private Account reload(UUID id) {
+        entityManager.clear();
+        return accountRepository.findById(id);
+    }
+
+    @Test
+    void testNewAccount_CountersStartEmpty() {
+        Account account = reload(seedAccount());
+
+        assertEquals(0, account.getActiveKeyCount());
+        assertFalse(account.getHasCpfKey());
+        assertFalse(account.getHasCnpjKey());
+    }
+
+    @Test
+    void testReservePixKeySlot_StopsAtLimit() {
+        UUID id = seedAccount();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, accountRepository.reservePixKeySlot(id, "email", 5));
+        }
+        assertEquals(0, accountRepository.reservePixKeySlot(id, "email", 5));
+        assertEquals(5, reload(id).getActiveKeyCount());
+    }
+
+    @Test
+    void testReservePixKeySlot_OneCpfKeyPerAccount() {
+        UUID id = seedAccount();
+
+        assertEquals(1, accountRepository.reservePixKeySlot(id, "cpf", 5));
+        assertEquals(0, accountRepository.reservePixKeySlot(id, "cpf", 5));
+
+        Account account = reload(id);
+        assertEquals(1, account.getActiveKeyCount());
+        assertTrue(account.getHasCpfKey());
+        assertFalse(account.getHasCnpjKey());
+    }
+
+    @Test
+    void testReleasePixKeySlot_FreesCountAndType() {
+        UUID id = seedAccount();
+        accountRepository.reservePixKeySlot(id, "cpf", 5);
+        accountRepository.reservePixKeySlot(id, "email", 5);
+
+        assertEquals(1, accountRepository.releasePixKeySlot(id, "cpf"));
+
+        Account account = reload(id);
+        assertEquals(1, account.getActiveKeyCount());
+        assertFalse(account.getHasCpfKey());
+        assertEquals(1, accountRepository.reservePixKeySlot(id, "cpf", 5));
+    }
+
+    @Test
+    void testSaveAccount_DoesNotOverwriteCounters() {
+        UUID id = seedAccount();
+        Account stale = accountRepository.findById(id);
+
+        accountRepository.reservePixKeySlot(id, "email", 5);
+        stale.setAccountType("poupança");
+        accountRepository.saveAndFlush(stale);
+
+        assertEquals(1, reload(id).getActiveKeyCount());
+    }
+
+    @Test
+    void testReservePixKeySlots_ReservesWholeBatchOrNothing() {
+        UUID id = seedAccount();
+
+        assertEquals(1, accountRepository.reservePixKeySlots(id, 3, true, false, 5));
+        assertEquals(0, accountRepository.reservePixKeySlots(id, 3, false, false, 5));
+        assertEquals(0, accountRepository.reservePixKeySlots(id, 1, true, false, 5));
+        assertEquals(1, accountRepository.reservePixKeySlots(id, 2, false, false, 5));
+
+        Account account = reload(id);
+        assertEquals(5, account.getActiveKeyCount());
+        assertTrue(account.getHasCpfKey());
+    }
+
+    @Test
+    void testFindWithUser_LoadsUser() {
+        seedAccount();
+
+        Account account = accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678);
+
+        assertTrue(Hibernate.isInitialized(account.getUser()));
+    }
+}
@@ -0,0 +1,239 @@
+package com.cadastro.pix.repository;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class PixKeyRepositoryTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 25;
+
+    @Autowired
+    private PixKeyRepository pixKeyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int seeded;
+
+    private void seedPixKeys(int count) {
+        for (int n = 0; n < count; n++) {
+            int i = seeded++;
+            User user = new User();
+            user.setPersonType("fisica");
+            user.setUserName("Maria");
+            user.setIdentification(String.format("%011d", i));
+            user.setPhone("+5511998765432");
+            user.setEmail("maria" + i + "@teste.com");
+            user.setActive(true);
+            entityManager.persist(user);
+
+            Account account = new Account();
+            account.setAccountType("corrente");
+            account.setAgencyNumber(1234);
+            account.setAccountNumber(10000 + i);
+            account.setUser(user);
+            account.setActive(true);
+            entityManager.persist(account);
+
+            PixKey pixKey = new PixKey();
+            pixKey.setKeyType("email");
+            pixKey.setKeyValue("maria" + i + "@teste.com");
+            pixKey.setAccount(account);
+            pixKey.setActive(true);
+            pixKey.setInactivatedAt(LocalDateTime.now());
+            entityManager.persist(pixKey);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Account seedAccount() {
+        User user = new User();
+        user.setPersonType("fisica");
+        user.setUserName("Joao");
+        user.setIdentification("48428781850");
+        user.setPhone("+5511998765432");
+        user.setEmail("joao@teste.com");
+        user.setActive(true);
+        entityManager.persist(user);
+
+        Account account = new Account();
+        account.setAccountType("corrente");
+        account.setAgencyNumber(4321);
+        account.setAccountNumber(99999);
+        account.setUser(user);
+        account.setActive(true);
+        entityManager.persist(account);
+        return account;
+    }
+
+    private PixKey pixKey(Account account, String keyValue, boolean active) {
+        PixKey pixKey = new PixKey();
+        pixKey.setKeyType("email");
+        pixKey.setKeyValue(keyValue);
+        pixKey.setAccount(account);
+        pixKey.setActive(active);
+        return pixKey;
+    }
+
+    private long countStatements(Supplier<List<PixKey>> query) {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        PixKeyListWithAccountAndUserDTO.fromPixKeys(query.get());
+
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private void assertConstantStatements(Supplier<List<PixKey>> query) {
+        seedPixKeys(SMALL);
+        long small = countStatements(query);
+
+        seedPixKeys(LARGE - SMALL);
+        long large = countStatements(query);
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testFindFirstPage_ConstantStatements() {
+        assertConstantStatements(() -> pixKeyRepository.findFirstPage(Limit.of(LARGE)));
+    }
+
+    @Test
+    void testFindByKeyType_ConstantStatements() {
+        assertConstantStatements(() -> pixKeyRepository.findByKeyType("email"));
+    }
+
+    @Test
+    void testFindByKeyType_LoadsReadOnlyEntities() {
+        seedPixKeys(SMALL);
+
+        PixKey pixKey = pixKeyRepository.findByKeyType("email").get(0);
+        pixKey.setKeyValue("alterada@teste.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(pixKeyRepository.findActiveKeyValuesIn(List.of("alterada@teste.com")).isEmpty());
+    }
+
+    @Test
+    void testFindByKeyType_MarksGraphReadOnly() {
+        seedPixKeys(SMALL);
+        Session session = entityManager.unwrap(Session.class);
+
+        PixKey pixKey = pixKeyRepository.findByKeyType("email").get(0);
+
+        assertTrue(session.isReadOnly(pixKey));
+        assertTrue(session.isReadOnly(pixKey.getAccount()));
+        assertTrue(session.isReadOnly(pixKey.getAccount().getUser()));
+    }
+
+    @Test
+    void testFindByUserName_ConstantStatements() {
+        assertConstantStatements(() -> pixKeyRepository.findByUserName("Maria"));
+    }
+
+    @Test
+    void testFindByCreatedAtBetween_ConstantStatements() {
+        LocalDate today = LocalDate.now();
+        assertConstantStatements(() ->
+                pixKeyRepository.findByCreatedAtBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX)));
+    }
+
+    @Test
+    void testFindByInactivatedAtBetween_ConstantStatements() {
+        LocalDate today = LocalDate.now();
+        assertConstantStatements(() ->
+                pixKeyRepository.findByInactivatedAtBetween(today.atStartOfDay(), today.atTime(LocalTime.MAX)));
+    }
+
+    @Test
+    void testDuplicateActiveKeyValue_Rejected() {
+        Account account = seedAccount();
+        pixKeyRepository.saveAndFlush(pixKey(account, "joao@teste.com", true));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                pixKeyRepository.saveAndFlush(pixKey(account, "joao@teste.com", true)));
+    }
+
+    @Test
+    void testDuplicateKeyValue_AllowedWhenPreviousInactive() {
+        Account account = seedAccount();
+        PixKey first = pixKeyRepository.saveAndFlush(pixKey(account, "joao@teste.com", true));
+        first.setActive(false);
+        pixKeyRepository.saveAndFlush(first);
+
+        pixKeyRepository.saveAndFlush(pixKey(account, "joao@teste.com", false));
+        pixKeyRepository.saveAndFlush(pixKey(account, "joao@teste.com", true));
+
+        assertEquals(1, pixKeyRepository.countByActive(true));
+    }
+
+    @Test
+    void testFindActiveKeyValuesIn_OnlyActive() {
+        Account account = seedAccount();
+        pixKeyRepository.saveAndFlush(pixKey(account, "ativa@teste.com", true));
+        pixKeyRepository.saveAndFlush(pixKey(account, "inativa@teste.com", false));
+
+        List<String> registered = pixKeyRepository.findActiveKeyValuesIn(
+                List.of("ativa@teste.com", "inativa@teste.com", "nova@teste.com"));
+
+        assertEquals(List.of("ativa@teste.com"), registered);
+    }
+
+    @Test
+    void testSaveAllAndFlush_BatchesInserts() {
+        Account account = seedAccount();
+        entityManager.flush();
+
+        List<PixKey> pixKeys = new ArrayList<>();
+        for (int i = 0; i < LARGE; i++) {
+            pixKeys.add(pixKey(account, "lote" + i + "@teste.com", true));
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        pixKeyRepository.saveAllAndFlush(pixKeys);
+
+        // com hibernate.jdbc.batch_size o mesmo PreparedStatement e reutilizado para todos os inserts
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(LARGE, statistics.getEntityInsertCount());
+    }
+}
@@ -0,0 +1,146 @@
+package com.cadastro.pix.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada consulta dos repositories usa um indice das migraçoes: o SQL gerado pelo Hibernate e capturado
+ * pelo datasource-proxy e passado ao EXPLAIN do H2 com os mesmos parametros.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class QueryIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final UUID ID = UUID.randomUUID();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PixKeyRepository pixKeyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<QueryInfo> executed = new ArrayList<>();
+
+    private final QueryExecutionListener capture = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            executed.addAll(queryInfoList);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    private String plan(Runnable call) throws Exception {
+        executed.clear();
+        call.run();
+        QueryInfo query = executed.get(executed.size() - 1);
+
+        try (Connection connection = ((ProxyDataSource) dataSource).getDataSource().getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+            if (!query.getParametersList().isEmpty()) {
+                for (ParameterSetOperation parameter : query.getParametersList().get(0)) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private void assertUsesIndex(String index, Runnable call) throws Exception {
+        String plan = plan(call);
+        assertTrue(plan.toLowerCase().contains("/* public." + index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    @Test
+    void testPixKeyQueries() throws Exception {
+        assertUsesIndex("idx_pix_key_active_key_value", () -> pixKeyRepository.existsByKeyValueAndActive("a@teste.com", true));
+        assertUsesIndex("idx_pix_key_active_key_value", () -> pixKeyRepository.findActiveKeyValuesIn(List.of("a@teste.com", "b@teste.com")));
+        assertUsesIndex("idx_pix_key_active_key_value", () -> pixKeyRepository.findFirstByKeyValueAndActive("a@teste.com", true));
+        assertUsesIndex("idx_pix_key_active_key_value", () -> pixKeyRepository.countByActive(true));
+        assertUsesIndex("idx_pix_key_active_created_at", () -> pixKeyRepository.findActiveKeyValuesCreatedSince(NOW));
+        assertUsesIndex("idx_pix_key_key_type", () -> pixKeyRepository.findByKeyType("email"));
+        assertUsesIndex("idx_pix_key_created_at_id", () -> pixKeyRepository.findByCreatedAtBetween(NOW.minusDays(1), NOW));
+        // filtra inactivated_at e created_at; a condiçao em created_at e a que usa indice
+        assertUsesIndex("idx_pix_key_created_at_id", () -> pixKeyRepository.findByInactivatedAtBetween(NOW.minusDays(1), NOW));
+        assertUsesIndex("idx_pix_key_created_at_id", () -> pixKeyRepository.findFirstPage(Limit.of(50)));
+        assertUsesIndex("idx_pix_key_created_at_id", () -> pixKeyRepository.findPageAfter(NOW, ID, Limit.of(50)));
+        assertUsesIndex("idx_user_user_name", () -> pixKeyRepository.findByUserName("Maria"));
+    }
+
+    // streamActiveKeyValues usa o fetch size de streaming do MySQL, que o H2 recusa; o JPQL e o mesmo
+    @Test
+    void testStreamActiveKeyValuesQuery() throws Exception {
+        assertUsesIndex("idx_pix_key_active_key_value", () -> entityManager
+                .createQuery("SELECT p.keyValue FROM PixKey p WHERE p.active = true", String.class)
+                .getResultList());
+    }
+
+    @Test
+    void testAccountQueries() throws Exception {
+        assertUsesIndex("idx_account_number_agency", () -> accountRepository.findByAgencyNumberAndAccountNumber(1234, 12345678));
+        assertUsesIndex("idx_account_number_agency", () -> accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678));
+        assertUsesIndex("idx_account_number_agency", () -> accountRepository.findByAccountNumberIn(List.of(12345678, 87654321)));
+        assertUsesIndex("idx_account_created_at_id", () -> accountRepository.findFirstPage(Limit.of(50)));
+        assertUsesIndex("idx_account_created_at_id", () -> accountRepository.findPageAfter(NOW, ID, Limit.of(50)));
+        assertUsesIndex("primary_key", () -> accountRepository.findById(ID));
+    }
+
+    @Test
+    void testUserQueries() throws Exception {
+        assertUsesIndex("idx_user_identification", () -> userRepository.findByIdentification("48428781850"));
+        assertUsesIndex("idx_user_identification", () -> userRepository.findByIdentificationIn(List.of("48428781850", "12345678909")));
+        assertUsesIndex("idx_user_user_name", () -> userRepository.findByUserName("Maria"));
+        assertUsesIndex("idx_user_created_at_id", () -> userRepository.findFirstPage(Limit.of(50)));
+        assertUsesIndex("idx_user_created_at_id", () -> userRepository.findPageAfter(NOW, ID, Limit.of(50)));
+        assertUsesIndex("primary_key", () -> userRepository.findById(ID));
+    }
+}
@@ -3,6 +3,8 @@ package com.cadastro.pix.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.dto.account.CreateAccountDTO;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -37,12 +40,18 @@ public class AccountServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AccountLocatorCache accountLocatorCache;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
     @Mock
     private Validate validate;
 
+    @Mock
+    private PixKeyResolutionCache resolutionCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -101,6 +110,7 @@ public class AccountServiceTest {
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertEquals(validAccount.getId(), ((SimpleAccountWithUserDTO) respDTO.getData()).getId());
         assertInstanceOf(SimpleAccountWithUserDTO.class, respDTO.getData());
+        verify(accountLocatorCache).putAfterCommit(validAccount);
     }
 
     @Test
@@ -143,12 +153,16 @@ public class AccountServiceTest {
         UUID id = UUID.randomUUID();
         Account existingAccount = validAccount();
         existingAccount.setId(id);
+        Integer previousAccountNumber = existingAccount.getAccountNumber();
 
         when(accountRepository.findById(any(UUID.class))).thenReturn(existingAccount);
         when(accountRepository.save(any(Account.class))).thenReturn(existingAccount);
 
         RespDTO respDTO = accountService.updateAccount(id, validAccount);
 
+        verify(accountLocatorCache).invalidate(existingAccount.getAgencyNumber(), previousAccountNumber);
+        verify(accountLocatorCache).invalidate(validAccount.getAgencyNumber(), validAccount.getAccountNumber());
+
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertEquals(id, ((SimpleAccountWithUserDTO) respDTO.getData()).getId());
@@ -220,6 +234,7 @@ public class AccountServiceTest {
 
         RespDTO respDTO = accountService.deleteAccount(id);
 
+        verify(accountLocatorCache).invalidate(existingAccount.getAgencyNumber(), existingAccount.getAccountNumber());
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertInstanceOf(SimpleAccountWithUserDTO.class, respDTO.getData());
@@ -259,24 +274,46 @@ public class AccountServiceTest {
     @Test
     void testFindAllAccounts_Success() {
         List<Account> accounts = Arrays.asList(validAccount(), validAccount());
-        when(accountRepository.findAll()).thenReturn(accounts);
+        when(accountRepository.findFirstPage(any(Limit.class))).thenReturn(accounts);
 
-        RespDTO respDTO = accountService.findAllAccounts();
+        RespDTO respDTO = accountService.findAllAccounts(null, null);
 
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertInstanceOf(SimpleAccountListWithUserDTO.class, respDTO.getData());
         assertEquals(2, ((SimpleAccountListWithUserDTO) respDTO.getData()).getAccounts().size());
+        assertNull(((SimpleAccountListWithUserDTO) respDTO.getData()).getNextCursor());
+    }
+
+    @Test
+    void testFindAllAccounts_ReturnsNextCursorWhenMoreRows() {
+        List<Account> accounts = Arrays.asList(validAccount(), validAccount(), validAccount());
+        accounts.forEach(account -> account.setCreatedAt(LocalDateTime.now()));
+        when(accountRepository.findFirstPage(any(Limit.class))).thenReturn(accounts);
+
+        RespDTO respDTO = accountService.findAllAccounts(null, 2);
+
+        SimpleAccountListWithUserDTO page = (SimpleAccountListWithUserDTO) respDTO.getData();
+        assertEquals(2, page.getAccounts().size());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindAllAccounts_InvalidPageSize() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                accountService.findAllAccounts(null, 0));
+
+        assertEquals("Page size must be between 1 and 500", exception.getMessage());
     }
 
     @Test
     void testFindAllAccounts_NotFound() {
         List<Account> accounts = new ArrayList<>();
 
-        when(accountRepository.findAll()).thenReturn(accounts);
+        when(accountRepository.findFirstPage(any(Limit.class))).thenReturn(accounts);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
-                accountService.findAllAccounts());
+                accountService.findAllAccounts(null, null));
 
         assertEquals("No Accounts found", exception.getMessage());
 
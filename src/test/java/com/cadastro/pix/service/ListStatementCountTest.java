@@ -0,0 +1,164 @@
+package com.cadastro.pix.service;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.jdbc.StatementCounter;
+import com.cadastro.pix.repository.AccountRepository;
+import com.cadastro.pix.repository.PixKeyRepository;
+import com.cadastro.pix.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Limite de statements dos metodos de listagem com KEYS chaves no banco (H2 em modo MySQL).
+ * Cada chamada roda numa transaçao propria, como a sessao aberta por requisiçao (open-in-view):
+ * o lazy loading acontece como em produçao e cada acesso a uma associaçao nao carregada conta.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ListStatementCountTest {
+
+    private static final int USERS = 200;
+    private static final int KEYS_PER_ACCOUNT = 5;
+    private static final int KEYS = USERS * KEYS_PER_ACCOUNT;
+    private static final int AGENCY = 1234;
+    private static final int FIRST_ACCOUNT_NUMBER = 50000;
+
+    @Autowired
+    private PixKeyServiceImpl pixKeyService;
+
+    @Autowired
+    private AccountServiceImpl accountService;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PixKeyRepository pixKeyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                User user = new User();
+                user.setPersonType("fisica");
+                user.setUserName("Maria");
+                user.setIdentification(String.format("%011d", i));
+                user.setPhone("+5511998765432");
+                user.setEmail("maria" + i + "@teste.com");
+                user.setActive(true);
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+
+            List<Account> accounts = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                Account account = new Account();
+                account.setAccountType("corrente");
+                account.setAgencyNumber(AGENCY);
+                account.setAccountNumber(FIRST_ACCOUNT_NUMBER + i);
+                account.setUser(users.get(i));
+                account.setActive(true);
+                accounts.add(account);
+            }
+            accountRepository.saveAll(accounts);
+
+            List<PixKey> pixKeys = new ArrayList<>();
+            for (int i = 0; i < KEYS; i++) {
+                PixKey pixKey = new PixKey();
+                pixKey.setKeyType("email");
+                pixKey.setKeyValue("chave" + i + "@teste.com");
+                pixKey.setAccount(accounts.get(i / KEYS_PER_ACCOUNT));
+                pixKey.setActive(true);
+                pixKey.setInactivatedAt(LocalDateTime.now());
+                pixKeys.add(pixKey);
+            }
+            pixKeyRepository.saveAll(pixKeys);
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            pixKeyRepository.deleteAllInBatch();
+            accountRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    private void assertStatements(long maxStatements, int expectedElements, Supplier<RespDTO> call) {
+        RespDTO[] response = new RespDTO[1];
+        StatementCounter.assertAtMost(maxStatements,
+                () -> transactionTemplate.executeWithoutResult(status -> response[0] = call.get()));
+        assertEquals(expectedElements, response[0].getData().elementCount());
+    }
+
+    @Test
+    void testFindAllPixKeys() {
+        assertStatements(1, 500, () -> pixKeyService.findAllPixKeys(null, 500));
+    }
+
+    @Test
+    void testFindPixKeysByType() {
+        assertStatements(1, KEYS, () -> pixKeyService.findPixKeysByType("email"));
+    }
+
+    @Test
+    void testFindPixKeysByUserName() {
+        assertStatements(1, KEYS, () -> pixKeyService.findPixKeysByUserName("Maria"));
+    }
+
+    @Test
+    void testFindPixKeysByCreatedAt() {
+        assertStatements(1, KEYS, () -> pixKeyService.findPixKeysByCreatedAt(LocalDate.now()));
+    }
+
+    @Test
+    void testFindPixKeysByInactivatedAt() {
+        assertStatements(1, KEYS, () -> pixKeyService.findPixKeysByInactivatedAt(LocalDate.now()));
+    }
+
+    // conta, usuario da conta e colecao de chaves: constante, nao cresce com a quantidade de chaves
+    @Test
+    void testFindPixKeysByAgencyAndAccount() {
+        assertStatements(3, KEYS_PER_ACCOUNT,
+                () -> pixKeyService.findPixKeysByAgencyAndAccount(AGENCY, FIRST_ACCOUNT_NUMBER));
+    }
+
+    @Test
+    void testFindAllAccounts() {
+        assertStatements(1, USERS, () -> accountService.findAllAccounts(null, 500));
+    }
+
+    @Test
+    void testFindAllUsers() {
+        assertStatements(1, USERS, () -> userService.findAllUsers(null, 500));
+    }
+}
@@ -0,0 +1,201 @@
+package com.cadastro.pix.service;
+
+import com.cadastro.pix.domain.account.Account;
+import com.cadastro.pix.domain.user.User;
+import com.cadastro.pix.dto.onboarding.OnboardingRowErrorDTO;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.onboarding.OnboardingJob;
+import com.cadastro.pix.onboarding.OnboardingJobRegistry;
+import com.cadastro.pix.onboarding.OnboardingRowReader;
+import com.cadastro.pix.repository.AccountRepository;
+import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.Validate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OnboardingServiceTest {
+
+    private static final String HEADER = "personType,userName,userLastName,identification,phone,email,accountType,agencyNumber,accountNumber\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OnboardingJobRegistry jobRegistry;
+
+    @Spy
+    private Validate validate = new Validate();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private OnboardingServiceImpl onboardingService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        onboardingService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        onboardingService.shutdown();
+    }
+
+    private Path file(String content) throws IOException {
+        Path path = Files.createTempFile("onboarding-test-", ".csv");
+        Files.writeString(path, content);
+        return path;
+    }
+
+    private OnboardingJob run(String content, OnboardingRowReader.Format format) throws IOException {
+        OnboardingJob job = new OnboardingJob(UUID.randomUUID());
+        Path path = file(content);
+        onboardingService.runJob(job, path, format);
+        assertFalse(Files.exists(path));
+        return job;
+    }
+
+    @Test
+    public void testRunJob_CreatesValidRowsAndReportsErrors() throws IOException {
+        User existing = new User();
+        existing.setIdentification("11144477735");
+        existing.setActive(true);
+        when(userRepository.findByIdentificationIn(anyCollection())).thenReturn(List.of(existing));
+
+        String csv = HEADER +
+                "fisica,João,Silva,48428781850,+5511998765432,joao@teste.com,corrente,1234,12345678\n" +
+                "fisica,Maria,,12345678900,+5511998765432,maria@teste.com,,,\n" +
+                "fisica,Ana,,48428781850,+5511998765432,ana@teste.com,,,\n" +
+                "fisica,Pedro,,11144477735,+5511998765432,pedro@teste.com,,,\n" +
+                "juridica,Empresa,,06947283000160,+5511998765432,empresa@teste.com,poupança,1234,12345678\n";
+
+        OnboardingJob job = run(csv, OnboardingRowReader.Format.CSV);
+
+        assertEquals(OnboardingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(1, job.getUsersCreated());
+        assertEquals(1, job.getAccountsCreated());
+        assertEquals(4, job.getRowsRejected());
+        assertEquals(List.of(
+                new OnboardingRowErrorDTO(3, "Invalid CPF"),
+                new OnboardingRowErrorDTO(4, "Identification duplicated in file"),
+                new OnboardingRowErrorDTO(5, "User with this identification already exists and is active"),
+                new OnboardingRowErrorDTO(6, "Account duplicated in file")
+        ), job.getErrors());
+        verify(userRepository).saveAll(argThat(users -> ((List<User>) users).size() == 1));
+    }
+
+    @Test
+    public void testRunJob_RejectsExistingAccount() throws IOException {
+        Account existing = new Account();
+        existing.setAgencyNumber(1234);
+        existing.setAccountNumber(12345678);
+        existing.setActive(false);
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(existing));
+
+        OnboardingJob job = run(HEADER + "fisica,João,Silva,48428781850,+5511998765432,joao@teste.com,corrente,1234,12345678\n",
+                OnboardingRowReader.Format.CSV);
+
+        assertEquals(0, job.getUsersCreated());
+        assertEquals("There is already an inactive account with that account number at this agency", job.getErrors().get(0).getMessage());
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void testRunJob_QueriesDuplicatesOncePerChunk() throws IOException {
+        ReflectionTestUtils.setField(onboardingService, "chunkSize", 2);
+
+        String ndjson = """
+                {"personType":"fisica","userName":"A","identification":"48428781850","phone":"+5511998765432","email":"a@teste.com"}
+                {"personType":"fisica","userName":"B","identification":"11144477735","phone":"+5511998765432","email":"b@teste.com"}
+                {"personType":"fisica","userName":"C","identification":"52998224725","phone":"+5511998765432","email":"c@teste.com"}
+                """;
+
+        OnboardingJob job = run(ndjson, OnboardingRowReader.Format.NDJSON);
+
+        assertEquals(3, job.getUsersCreated());
+        verify(userRepository, times(2)).findByIdentificationIn(anyCollection());
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(accountRepository, never()).findByAccountNumberIn(anyCollection());
+    }
+
+    @Test
+    public void testRunJob_FallsBackToRowByRowWhenChunkFails() throws IOException {
+        when(userRepository.saveAll(anyList())).thenThrow(new RuntimeException("chunk failed"));
+        when(userRepository.save(argThat(user -> "11144477735".equals(user.getIdentification()))))
+                .thenThrow(new RuntimeException("row failed"));
+
+        String csv = HEADER +
+                "fisica,João,Silva,48428781850,+5511998765432,joao@teste.com,corrente,1234,12345678\n" +
+                "fisica,Maria,,11144477735,+5511998765432,maria@teste.com,,,\n";
+
+        OnboardingJob job = run(csv, OnboardingRowReader.Format.CSV);
+
+        assertEquals(OnboardingJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getUsersCreated());
+        assertEquals(1, job.getAccountsCreated());
+        assertEquals(List.of(new OnboardingRowErrorDTO(3, "Could not persist row")), job.getErrors());
+    }
+
+    @Test
+    public void testRunJob_FailsWithoutCsvHeader() throws IOException {
+        OnboardingJob job = run("", OnboardingRowReader.Format.CSV);
+
+        assertEquals(OnboardingJob.Status.FAILED, job.getStatus());
+        assertEquals("CSV file must start with a header line", job.getFailure());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    public void testStartOnboarding_UnsupportedContentType() {
+        assertThrows(IllegalArgumentException.class, () -> onboardingService.startOnboarding(
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), "application/json"));
+        verify(jobRegistry, never()).create();
+    }
+
+    @Test
+    public void testStartOnboarding_QueuesJob() throws IOException {
+        OnboardingJob job = new OnboardingJob(UUID.randomUUID());
+        when(jobRegistry.create()).thenReturn(job);
+
+        RespDTO respDTO = onboardingService.startOnboarding(
+                new ByteArrayInputStream(HEADER.getBytes(StandardCharsets.UTF_8)), "text/csv;charset=UTF-8");
+
+        assertEquals(HttpStatus.ACCEPTED, respDTO.getHttpStatus());
+    }
+}
@@ -3,31 +3,51 @@ package com.cadastro.pix.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.AccountLocatorCache.AccountLocation;
+import com.cadastro.pix.cache.PixKeyBloomFilter;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.dto.pixKey.CreatePixKeyDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchItemDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchResultDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyListWithAccountAndUserDTO;
 import com.cadastro.pix.dto.pixKey.PixKeyWithAccountDTO;
+import com.cadastro.pix.utils.PageCursor;
 import com.cadastro.pix.utils.Validate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.index.PixKeyIndex;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.exception.EntityNotFoundException;
 import com.cadastro.pix.repository.AccountRepository;
@@ -46,16 +66,39 @@ public class PixKeyServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PixKeyIndex pixKeyIndex;
+
     @InjectMocks
     private PixKeyServiceImpl pixKeyService;
 
     @Mock
     private Validate validate;
 
+    @Mock
+    private PixKeyResolutionCache resolutionCache;
+
+    @Mock
+    private PixKeyBloomFilter pixKeyBloomFilter;
+
+    @Mock
+    private AccountLocatorCache accountLocatorCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // indice ainda nao carregado: responde "contem" e tudo segue para o banco
+        lenient().when(pixKeyIndex.contains(anyString())).thenReturn(true);
     }
 
     private User validIndividualUserActive() {
@@ -148,8 +191,10 @@ public class PixKeyServiceTest {
         CreatePixKeyDTO validCreatePixKeyDTO = validCreatePixKeyDTO();
         Account validAccount = validIndividualAccount();
 
-        when(accountRepository.findByAgencyNumberAndAccountNumber(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(validAccount);
-        when(pixKeyRepository.save(any(PixKey.class))).thenAnswer(invocation -> {
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(validAccount);
+        when(accountLocatorCache.put(validAccount)).thenReturn(AccountLocation.of(validAccount));
+        when(accountRepository.reservePixKeySlot(validAccount.getId(), "email", 5)).thenReturn(1);
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class))).thenAnswer(invocation -> {
             PixKey pixKey = invocation.getArgument(0);
             pixKey.setId(UUID.randomUUID());
             return pixKey;
@@ -160,13 +205,163 @@ public class PixKeyServiceTest {
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertInstanceOf(PixKeyDTO.class, respDTO.getData());
+        verify(accountLocatorCache).put(validAccount);
+        verify(pixKeyIndex).put(validCreatePixKeyDTO.getKeyValue());
+        verify(resolutionCache).invalidate(validCreatePixKeyDTO.getKeyValue());
+        verify(pixKeyBloomFilter).put(validCreatePixKeyDTO.getKeyValue());
+    }
+
+    @Test
+    void testCreatePixKey_AccountFromLocatorCache() {
+        CreatePixKeyDTO validCreatePixKeyDTO = validCreatePixKeyDTO();
+        Account validAccount = validIndividualAccount();
+
+        when(accountLocatorCache.get(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(AccountLocation.of(validAccount));
+        when(accountRepository.reservePixKeySlot(validAccount.getId(), "email", 5)).thenReturn(1);
+        when(entityManager.getReference(Account.class, validAccount.getId())).thenReturn(validAccount);
+        when(pixKeyRepository.saveAndFlush(any(PixKey.class))).thenAnswer(invocation -> {
+            PixKey pixKey = invocation.getArgument(0);
+            pixKey.setId(UUID.randomUUID());
+            return pixKey;
+        });
+
+        RespDTO respDTO = pixKeyService.createPixKey(validCreatePixKeyDTO);
+
+        assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
+        verify(validate).validateCreatePixKey(any(PixKey.class), eq(AccountLocation.of(validAccount)));
+        verify(accountRepository, never()).findWithUserByAgencyNumberAndAccountNumber(anyInt(), anyInt());
+        verify(accountRepository, never()).findByAgencyNumberAndAccountNumber(anyInt(), anyInt());
+        verify(pixKeyRepository).saveAndFlush(argThat(pixKey -> pixKey.getAccount() == validAccount));
+    }
+
+    @Test
+    void testCreatePixKey_SlotTakenConcurrently() {
+        CreatePixKeyDTO validCreatePixKeyDTO = validCreatePixKeyDTO();
+        Account validAccount = validIndividualAccount();
+
+        when(accountLocatorCache.get(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(AccountLocation.of(validAccount));
+        when(accountRepository.reservePixKeySlot(validAccount.getId(), "email", 5)).thenReturn(0);
+        when(accountRepository.findById(validAccount.getId())).thenReturn(validAccount);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                pixKeyService.createPixKey(validCreatePixKeyDTO));
+
+        assertEquals("Pix key limit exceeded for this account", exception.getMessage());
+        verify(validate).validatePixKey(any(PixKey.class), eq(validAccount), eq(validAccount.getUser()));
+        verify(pixKeyRepository, never()).saveAndFlush(any(PixKey.class));
+    }
+
+    private CreatePixKeyDTO createPixKeyDTO(String keyValue, int accountNumber) {
+        return new CreatePixKeyDTO("email", keyValue, 1234, accountNumber);
+    }
+
+    private void stubSaveAllAndFlush() {
+        when(pixKeyRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<PixKey> pixKeys = invocation.getArgument(0);
+            pixKeys.forEach(pixKey -> pixKey.setId(UUID.randomUUID()));
+            return pixKeys;
+        });
+    }
+
+    @Test
+    void testCreatePixKeys_ReportsEachItem() {
+        Account firstAccount = validIndividualAccount();
+        Account secondAccount = validLegalAccount();
+        List<CreatePixKeyDTO> batch = List.of(
+                createPixKeyDTO("a@teste.com", 12345678),
+                createPixKeyDTO("b@teste.com", 12345678),
+                createPixKeyDTO("c@teste.com", 87654321),
+                new CreatePixKeyDTO(null, "d@teste.com", 1234, 12345678),
+                createPixKeyDTO("a@teste.com", 87654321),
+                createPixKeyDTO("e@teste.com", 11111111),
+                createPixKeyDTO("f@teste.com", 87654321)
+        );
+
+        when(pixKeyRepository.findActiveKeyValuesIn(anyCollection())).thenReturn(List.of("f@teste.com"));
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678)).thenReturn(firstAccount);
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 87654321)).thenReturn(secondAccount);
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 11111111)).thenReturn(null);
+        when(accountRepository.reservePixKeySlots(firstAccount.getId(), 2, false, false, 5)).thenReturn(1);
+        when(accountRepository.reservePixKeySlots(secondAccount.getId(), 1, false, false, 20)).thenReturn(1);
+        stubSaveAllAndFlush();
+
+        RespDTO respDTO = pixKeyService.createPixKeys(batch);
+
+        PixKeyBatchResultDTO result = (PixKeyBatchResultDTO) respDTO.getData();
+        assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
+        assertEquals(3, result.getCreated());
+        assertEquals(4, result.getRejected());
+
+        List<PixKeyBatchItemDTO> items = result.getItems();
+        assertEquals(PixKeyBatchItemDTO.CREATED, items.get(0).getStatus());
+        assertNotNull(items.get(0).getId());
+        assertEquals(PixKeyBatchItemDTO.CREATED, items.get(1).getStatus());
+        assertEquals(PixKeyBatchItemDTO.CREATED, items.get(2).getStatus());
+        assertEquals("Key type must not be null", items.get(3).getMessage());
+        assertEquals("Pix key value duplicated in batch", items.get(4).getMessage());
+        assertEquals("There is no such account with this agency number and account", items.get(5).getMessage());
+        assertEquals("Pix key value already registered", items.get(6).getMessage());
+
+        verify(accountRepository, times(1)).findWithUserByAgencyNumberAndAccountNumber(1234, 12345678);
+        verify(pixKeyRepository).findActiveKeyValuesIn(Set.of("a@teste.com", "b@teste.com", "c@teste.com", "e@teste.com", "f@teste.com"));
+        verify(pixKeyRepository, never()).existsByKeyValueAndActive(anyString(), anyBoolean());
+        verify(pixKeyBloomFilter).put("a@teste.com");
+        verify(pixKeyIndex).put("a@teste.com");
+    }
+
+    @Test
+    void testCreatePixKeys_ValidationErrorRejectsOnlyThatItem() {
+        Account account = validIndividualAccount();
+        List<CreatePixKeyDTO> batch = List.of(
+                createPixKeyDTO("a@teste.com", 12345678),
+                createPixKeyDTO("invalido", 12345678)
+        );
+
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678)).thenReturn(account);
+        doAnswer(invocation -> {
+            PixKey pixKey = invocation.getArgument(0);
+            if (pixKey.getKeyValue().equals("invalido")) {
+                throw new IllegalArgumentException("Invalid email format");
+            }
+            return null;
+        }).when(validate).validatePixKey(any(PixKey.class), any(Account.class), any(User.class));
+        when(accountRepository.reservePixKeySlots(account.getId(), 1, false, false, 5)).thenReturn(1);
+        stubSaveAllAndFlush();
+
+        PixKeyBatchResultDTO result = (PixKeyBatchResultDTO) pixKeyService.createPixKeys(batch).getData();
+
+        assertEquals(1, result.getCreated());
+        assertEquals("Invalid email format", result.getItems().get(1).getMessage());
+    }
+
+    @Test
+    void testCreatePixKeys_SlotsTakenConcurrently() {
+        Account account = validIndividualAccount();
+        List<CreatePixKeyDTO> batch = List.of(createPixKeyDTO("a@teste.com", 12345678));
+
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678)).thenReturn(account);
+        when(accountRepository.reservePixKeySlots(account.getId(), 1, false, false, 5)).thenReturn(0);
+        stubSaveAllAndFlush();
+
+        PixKeyBatchResultDTO result = (PixKeyBatchResultDTO) pixKeyService.createPixKeys(batch).getData();
+
+        assertEquals(0, result.getCreated());
+        assertEquals("Pix key limit exceeded for this account", result.getItems().get(0).getMessage());
+    }
+
+    @Test
+    void testCreatePixKeys_EmptyBatch() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                pixKeyService.createPixKeys(List.of()));
+
+        assertEquals("Batch size must be between 1 and 1000", exception.getMessage());
     }
 
     @Test
     void testCreatePixKey_AccountNotFound() {
         CreatePixKeyDTO validCreatePixKeyDTO = validCreatePixKeyDTO();
 
-        when(accountRepository.findByAgencyNumberAndAccountNumber(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(null);
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(validCreatePixKeyDTO.getAgencyNumber(), validCreatePixKeyDTO.getAccountNumber())).thenReturn(null);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             pixKeyService.createPixKey(validCreatePixKeyDTO);
@@ -181,9 +376,9 @@ public class PixKeyServiceTest {
         pixKeys.add(validPixKey());
         pixKeys.add(validPixKey());
 
-        when(pixKeyRepository.findAll()).thenReturn(pixKeys);
+        when(pixKeyRepository.findFirstPage(any(Limit.class))).thenReturn(pixKeys);
 
-        RespDTO respDTO = pixKeyService.findAllPixKeys();
+        RespDTO respDTO = pixKeyService.findAllPixKeys(null, null);
 
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
@@ -195,14 +390,61 @@ public class PixKeyServiceTest {
     void testFindAll_EmptyPixKeys() {
         List<PixKey> pixKeys = new ArrayList<>();
 
-        when(pixKeyRepository.findAll()).thenReturn(pixKeys);
+        when(pixKeyRepository.findFirstPage(any(Limit.class))).thenReturn(pixKeys);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
-                pixKeyService.findAllPixKeys());
+                pixKeyService.findAllPixKeys(null, null));
 
         assertEquals("No Pix keys found", exception.getMessage());
     }
 
+    @Test
+    void testFindAll_WithCursorReturnsNextCursor() {
+        List<PixKey> pixKeys = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PixKey pixKey = validPixKey();
+            pixKey.setCreatedAt(LocalDateTime.now());
+            pixKeys.add(pixKey);
+        }
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 10, 0);
+        UUID lastId = UUID.randomUUID();
+
+        when(pixKeyRepository.findPageAfter(eq(createdAt), eq(lastId), any(Limit.class))).thenReturn(pixKeys);
+
+        RespDTO respDTO = pixKeyService.findAllPixKeys(PageCursor.encode(createdAt, lastId), 2);
+
+        PixKeyListWithAccountAndUserDTO page = (PixKeyListWithAccountAndUserDTO) respDTO.getData();
+        assertEquals(2, page.getPixKeys().size());
+        assertEquals(pixKeys.get(1).getId(), PageCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void testExportPixKeys_WritesOneLinePerKey() throws IOException {
+        PixKey first = validPixKey();
+        PixKey second = validPixKey();
+
+        when(pixKeyRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pixKeyService.exportPixKeys(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first.getId(), objectMapper.readValue(lines[0], PixKeyWithAccountDTO.class).getId());
+        assertEquals(second.getId(), objectMapper.readValue(lines[1], PixKeyWithAccountDTO.class).getId());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void testExportPixKeys_Empty() throws IOException {
+        when(pixKeyRepository.streamAll()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pixKeyService.exportPixKeys(outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+
     @Test
     void testFindById_Success() {
         UUID id = UUID.randomUUID();
@@ -230,6 +472,76 @@ public class PixKeyServiceTest {
         assertEquals("Pix key not found", exception.getMessage());
     }
 
+    @Test
+    void testResolvePixKey_FromCache() {
+        PixKeyWithAccountDTO cached = new PixKeyWithAccountDTO(validPixKey());
+        when(resolutionCache.get("48428781850")).thenReturn(cached);
+
+        RespDTO respDTO = pixKeyService.resolvePixKey("48428781850");
+
+        assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
+        assertSame(cached, respDTO.getData());
+        verify(pixKeyRepository, never()).findFirstByKeyValueAndActive(anyString(), anyBoolean());
+    }
+
+    @Test
+    void testResolvePixKey_FromDatabaseFillsCache() {
+        PixKey pixKey = validPixKey();
+        when(resolutionCache.get(pixKey.getKeyValue())).thenReturn(null);
+        when(pixKeyRepository.findFirstByKeyValueAndActive(pixKey.getKeyValue(), true)).thenReturn(pixKey);
+
+        RespDTO respDTO = pixKeyService.resolvePixKey(pixKey.getKeyValue());
+
+        assertInstanceOf(PixKeyWithAccountDTO.class, respDTO.getData());
+        assertEquals(pixKey.getId(), ((PixKeyWithAccountDTO) respDTO.getData()).getId());
+        verify(resolutionCache).put(pixKey.getKeyValue(), (PixKeyWithAccountDTO) respDTO.getData());
+    }
+
+    @Test
+    void testResolvePixKey_NotFound() {
+        when(pixKeyRepository.findFirstByKeyValueAndActive("teste@teste.com", true)).thenReturn(null);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
+                pixKeyService.resolvePixKey("teste@teste.com"));
+
+        assertEquals("Pix key not found", exception.getMessage());
+        verify(resolutionCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    void testResolvePixKey_NotInKeyIndexStillQueriesDatabase() {
+        PixKey pixKey = validPixKey();
+        lenient().when(pixKeyIndex.contains(pixKey.getKeyValue())).thenReturn(false);
+        when(pixKeyRepository.findFirstByKeyValueAndActive(pixKey.getKeyValue(), true)).thenReturn(pixKey);
+
+        RespDTO respDTO = pixKeyService.resolvePixKey(pixKey.getKeyValue());
+
+        assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
+        verify(pixKeyRepository).findFirstByKeyValueAndActive(pixKey.getKeyValue(), true);
+    }
+
+    @Test
+    void testCreatePixKeys_QueriesValuesMissingFromKeyIndex() {
+        Account account = validIndividualAccount();
+        List<CreatePixKeyDTO> batch = List.of(
+                createPixKeyDTO("a@teste.com", 12345678),
+                createPixKeyDTO("b@teste.com", 12345678)
+        );
+
+        // b@teste.com foi criada em outra instancia e ainda nao chegou ao indice
+        lenient().when(pixKeyIndex.isReady()).thenReturn(true);
+        lenient().when(pixKeyIndex.contains(anyString())).thenReturn(false);
+        when(pixKeyRepository.findActiveKeyValuesIn(Set.of("a@teste.com", "b@teste.com"))).thenReturn(List.of("b@teste.com"));
+        when(accountRepository.findWithUserByAgencyNumberAndAccountNumber(1234, 12345678)).thenReturn(account);
+        when(accountRepository.reservePixKeySlots(account.getId(), 1, false, false, 5)).thenReturn(1);
+        stubSaveAllAndFlush();
+
+        PixKeyBatchResultDTO result = (PixKeyBatchResultDTO) pixKeyService.createPixKeys(batch).getData();
+
+        assertEquals(1, result.getCreated());
+        assertEquals("Pix key value already registered", result.getItems().get(1).getMessage());
+    }
+
     @Test
     void testFindByType_Success() {
         String keyType = "email";
@@ -439,6 +751,10 @@ public class PixKeyServiceTest {
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertFalse(((PixKeyDTO) respDTO.getData()).getActive());
         assertInstanceOf(PixKeyDTO.class, respDTO.getData());
+        verify(resolutionCache).invalidate(pixKey.getKeyValue());
+        verify(pixKeyBloomFilter).markDeactivated(pixKey.getKeyValue());
+        verify(pixKeyIndex).remove(pixKey.getKeyValue());
+        verify(accountRepository).releasePixKeySlot(pixKey.getAccount().getId(), pixKey.getKeyType().toLowerCase());
     }
 
     @Test
@@ -1,17 +1,21 @@
 package com.cadastro.pix.service;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.PixKeyResolutionCache;
 import com.cadastro.pix.dto.resp.RespDTO;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.dto.user.UserDTO;
 import com.cadastro.pix.dto.user.UserListDTO;
 import com.cadastro.pix.exception.EntityNotFoundException;
 import com.cadastro.pix.repository.UserRepository;
+import com.cadastro.pix.utils.PageCursor;
 import com.cadastro.pix.utils.Validate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
@@ -27,12 +31,18 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AccountLocatorCache accountLocatorCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
     @Mock
     private Validate validate;
 
+    @Mock
+    private PixKeyResolutionCache resolutionCache;
+
 
     @BeforeEach
     public void setUp() {
@@ -113,6 +123,7 @@ public class UserServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(updatedUser);
 
         RespDTO respDTO = userService.updateUser(userId, updatedUser);
+        verify(accountLocatorCache).invalidateUser(userId);
 
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertEquals(updatedUser.getUserName(), ((UserDTO) respDTO.getData()).getUserName());
@@ -161,24 +172,71 @@ public class UserServiceTest {
         user2.setId(UUID.randomUUID());
         users.add(user1);
         users.add(user2);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findFirstPage(any(Limit.class))).thenReturn(users);
 
-        RespDTO respDTO = userService.findAllUsers();
+        RespDTO respDTO = userService.findAllUsers(null, null);
 
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
         assertEquals(2, ((UserListDTO) respDTO.getData()).getUsers().size());
+        assertNull(((UserListDTO) respDTO.getData()).getNextCursor());
         assertInstanceOf(UserListDTO.class, respDTO.getData());
+        verify(userRepository).findFirstPage(Limit.of(PageCursor.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testFindAllUsers_ReturnsNextCursorWhenMoreRows() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = validIndividualUserActive();
+            user.setId(UUID.randomUUID());
+            users.add(user);
+        }
+        when(userRepository.findFirstPage(any(Limit.class))).thenReturn(users);
+
+        RespDTO respDTO = userService.findAllUsers(null, 2);
+
+        UserListDTO page = (UserListDTO) respDTO.getData();
+        assertEquals(2, page.getUsers().size());
+        assertNotNull(page.getNextCursor());
+
+        PageCursor cursor = PageCursor.decode(page.getNextCursor());
+        assertEquals(users.get(1).getId(), cursor.getId());
+        assertEquals(users.get(1).getCreatedAt(), cursor.getCreatedAt());
+    }
+
+    @Test
+    void testFindAllUsers_WithCursor() {
+        User user = validIndividualUserActive();
+        user.setId(UUID.randomUUID());
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 10, 0);
+        UUID lastId = UUID.randomUUID();
+        String cursor = PageCursor.encode(createdAt, lastId);
+
+        when(userRepository.findPageAfter(eq(createdAt), eq(lastId), any(Limit.class))).thenReturn(List.of(user));
+
+        RespDTO respDTO = userService.findAllUsers(cursor, 10);
+
+        assertEquals(1, ((UserListDTO) respDTO.getData()).getUsers().size());
+        verify(userRepository, never()).findFirstPage(any(Limit.class));
+    }
+
+    @Test
+    void testFindAllUsers_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                userService.findAllUsers("not-a-cursor", null));
+
+        assertEquals("Invalid cursor", exception.getMessage());
     }
 
     @Test
     void testFindAllUsers_NotFound() {
         List<User> users = new ArrayList<>();
 
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findFirstPage(any(Limit.class))).thenReturn(users);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () ->
-                userService.findAllUsers());
+                userService.findAllUsers(null, null));
 
         assertEquals("No users found", exception.getMessage());
 
@@ -222,6 +280,7 @@ public class UserServiceTest {
         when(userRepository.findById(userId)).thenReturn(user);
 
         RespDTO respDTO = userService.deleteUser(userId);
+        verify(accountLocatorCache).invalidateUser(userId);
 
         assertNotNull(respDTO);
         assertEquals(HttpStatus.OK, respDTO.getHttpStatus());
@@ -0,0 +1,75 @@
+package com.cadastro.pix.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormatChecksTest {
+
+    // Expressoes usadas antes pelo Validate; as checagens por char tem que concordar com elas
+    private static final Pattern PHONE = Pattern.compile("^\\+\\d{1,2}\\d{1,3}\\d{9}$");
+    private static final Pattern EMAIL = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+    private static final Pattern RANDOM_KEY = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[4][0-9a-fA-F]{3}-[89aAbB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$");
+
+    @Test
+    public void testIsPhone_MatchesRegex() {
+        List<String> values = List.of("+5511998765432", "+551199876543", "+55119987654321", "+123456789012",
+                "+12345678901", "+1234567890123456", "5511998765432", "+55 11998765432", "+5511a98765432", "", "+");
+        for (String value : values) {
+            assertEquals(PHONE.matcher(value).matches(), FormatChecks.isPhone(value), value);
+        }
+    }
+
+    @Test
+    public void testIsEmail_MatchesRegex() {
+        List<String> values = List.of("joao.silva@teste.com", "a@b.co", "a@b.c", "a@.com", "@b.com", "a@b", "a@b.com.br",
+                "a@b.c1", "a@@b.com", "a@b@c.com", "a b@c.com", "a+tag%x_y-z@sub-dominio.exemplo.org", "a@b..com",
+                "a@b.com.", "ç@b.com", "a@b.cóm", ".@..co", "a.@b-.co", "", "joao.silva.teste.com");
+        for (String value : values) {
+            assertEquals(EMAIL.matcher(value).matches(), FormatChecks.isEmail(value), value);
+        }
+    }
+
+    @Test
+    public void testIsRandomKey_MatchesRegex() {
+        List<String> values = List.of("123e4567-e89b-42d3-a456-556642440000", "123E4567-E89B-42D3-B456-556642440000",
+                "123e4567-e89b-12d3-a456-556642440000", "123e4567-e89b-42d3-c456-556642440000",
+                "123e4567e89b-42d3-a456-5566424400000", "123e4567-e89b-42d3-a456-55664244000g",
+                "123e4567-e89b-42d3-a456-55664244000", "");
+        for (String value : values) {
+            assertEquals(RANDOM_KEY.matcher(value).matches(), FormatChecks.isRandomKey(value), value);
+        }
+    }
+
+    @Test
+    public void testIsDigits() {
+        assertTrue(FormatChecks.isDigits("48428781850"));
+        assertFalse(FormatChecks.isDigits(""));
+        assertFalse(FormatChecks.isDigits("+4842878185"));
+        assertFalse(FormatChecks.isDigits("4842878185a"));
+        assertFalse(FormatChecks.isDigits("٤٨٤٢٨٧٨١٨٥٠"));
+    }
+
+    @Test
+    public void testIsRepeatedDigit() {
+        assertTrue(FormatChecks.isRepeatedDigit("11111111111"));
+        assertFalse(FormatChecks.isRepeatedDigit("11111111112"));
+        assertFalse(FormatChecks.isRepeatedDigit("aaaaaaaaaaa"));
+        assertFalse(FormatChecks.isRepeatedDigit(""));
+    }
+
+    @Test
+    public void testCheckDigits() {
+        assertTrue(FormatChecks.hasValidCpfCheckDigits("48428781850"));
+        assertTrue(FormatChecks.hasValidCpfCheckDigits("52998224725"));
+        assertFalse(FormatChecks.hasValidCpfCheckDigits("48428781851"));
+        assertFalse(FormatChecks.hasValidCpfCheckDigits("48428781860"));
+
+        assertTrue(FormatChecks.hasValidCnpjCheckDigits("06947283000160"));
+        assertFalse(FormatChecks.hasValidCnpjCheckDigits("06947283000161"));
+        assertFalse(FormatChecks.hasValidCnpjCheckDigits("06947283000170"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.cadastro.pix.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 10, 15, 30, 123456000);
+        UUID id = UUID.randomUUID();
+
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createdAt, id));
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(id, cursor.getId());
+    }
+
+    @Test
+    void testDecode_NullOrBlankIsFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    void testDecode_Invalid() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                PageCursor.decode("bm90LWEtY3Vyc29y"));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void testValidatePageSize() {
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.validatePageSize(null));
+        assertEquals(10, PageCursor.validatePageSize(10));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.validatePageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.validatePageSize(PageCursor.MAX_PAGE_SIZE + 1));
+    }
+}
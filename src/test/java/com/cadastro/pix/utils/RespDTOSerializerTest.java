@@ -0,0 +1,72 @@
+package com.cadastro.pix.utils;
+
+import com.cadastro.pix.dto.pixKey.PixKeyBatchItemDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyBatchResultDTO;
+import com.cadastro.pix.dto.pixKey.PixKeyDTO;
+import com.cadastro.pix.dto.resp.RespDTO;
+import com.cadastro.pix.dto.user.UserDTO;
+import com.cadastro.pix.dto.user.UserListDTO;
+import com.cadastro.pix.interfaces.BaseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RespDTOSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    public void testSerialize_Message() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.NOT_FOUND, "User not found"));
+
+        assertEquals("{\"httpStatus\":\"404 NOT_FOUND\",\"message\":\"User not found\"}", json);
+    }
+
+    @Test
+    public void testSerialize_EntityIsWrapped() throws JsonProcessingException {
+        UUID id = UUID.fromString("0190a5d6-1c2b-7000-8000-000000000001");
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.OK, new UserDTO(id)));
+
+        assertEquals("{\"httpStatus\":\"200 OK\",\"data\":{\"user\":{\"id\":\"" + id + "\"}}}", json);
+    }
+
+    @Test
+    public void testSerialize_ListIsData() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.OK, new UserListDTO(List.of(), "abc")));
+
+        assertEquals("{\"httpStatus\":\"200 OK\",\"data\":{\"users\":[],\"nextCursor\":\"abc\"}}", json);
+    }
+
+    @Test
+    public void testSerialize_BatchResultIsData() throws JsonProcessingException {
+        PixKeyBatchResultDTO result = PixKeyBatchResultDTO.fromItems(new PixKeyBatchItemDTO[]{
+                PixKeyBatchItemDTO.rejected(0, "a@teste.com", "Pix key value already registered")});
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.OK, result));
+
+        assertTrue(json.startsWith("{\"httpStatus\":\"200 OK\",\"data\":{\"created\":0,\"rejected\":1,\"items\":["), json);
+    }
+
+    @Test
+    public void testSerialize_PixKey() throws JsonProcessingException {
+        PixKeyDTO pixKeyDTO = new PixKeyDTO();
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.OK, pixKeyDTO));
+
+        assertTrue(json.startsWith("{\"httpStatus\":\"200 OK\",\"data\":{\"pixKey\":{"), json);
+    }
+
+    @Test
+    public void testSerialize_UnregisteredTypeWritesEmptyData() throws JsonProcessingException {
+        BaseDTO unknown = new BaseDTO() {
+        };
+        String json = objectMapper.writeValueAsString(new RespDTO(HttpStatus.OK, unknown));
+
+        assertEquals("{\"httpStatus\":\"200 OK\",\"data\":{}}", json);
+    }
+}
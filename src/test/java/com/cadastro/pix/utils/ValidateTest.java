@@ -1,7 +1,11 @@
 package com.cadastro.pix.utils;
 
+import com.cadastro.pix.cache.AccountLocatorCache;
+import com.cadastro.pix.cache.AccountLocatorCache.AccountLocation;
+import com.cadastro.pix.cache.PixKeyBloomFilter;
 import com.cadastro.pix.domain.account.Account;
 import com.cadastro.pix.domain.pixKey.PixKey;
+import com.cadastro.pix.index.PixKeyIndex;
 import com.cadastro.pix.domain.user.User;
 import com.cadastro.pix.repository.AccountRepository;
 import com.cadastro.pix.repository.PixKeyRepository;
@@ -13,14 +17,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ValidateTest {
@@ -34,12 +39,22 @@ public class ValidateTest {
     @Mock
     private PixKeyRepository pixKeyRepository;
 
+    @Mock
+    private PixKeyBloomFilter pixKeyBloomFilter;
+
+    @Mock
+    private AccountLocatorCache accountLocatorCache;
+
+    @Mock
+    private PixKeyIndex pixKeyIndex;
+
     @InjectMocks
     private Validate validate;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(pixKeyBloomFilter.mightContain(anyString())).thenReturn(true);
     }
 
     private User validIndividualUserActive() {
@@ -645,6 +660,21 @@ public class ValidateTest {
         assertEquals("There is already an inactive account with that account number at this agency", exception.getMessage());
     }
 
+    @Test
+    void testValidateCreateAccount_ExistingAccountInLocatorCache() {
+        Account account = validAccount();
+
+        when(accountLocatorCache.get(account.getAgencyNumber(), account.getAccountNumber()))
+                .thenReturn(new AccountLocation(UUID.randomUUID(), UUID.randomUUID(), true, "fisica", "48428781850"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            validate.validateCreateAccount(account);
+        });
+
+        assertEquals("There is already an account with that account number at this agency", exception.getMessage());
+        verify(accountRepository, never()).findByAgencyNumberAndAccountNumber(any(Integer.class), any(Integer.class));
+    }
+
     @Test
     void testValidateCreateAccount_InvalidAccountType() {
         Account account = validAccount();
@@ -801,14 +831,66 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_KeyValueExists() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(true);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
+
+        assertEquals("Pix key value already registered", exception.getMessage());
+    }
+
+    @Test
+    void testValidateCreatePixKey_BloomFilterMissSkipsQuery() {
+        PixKey pixKey = validPixKey();
+        Account account = pixKey.getAccount();
+
+        when(pixKeyBloomFilter.mightContain(anyString())).thenReturn(false);
+
+        validate.validateCreatePixKey(pixKey, AccountLocation.of(account));
+
+        verify(pixKeyRepository, never()).existsByKeyValueAndActive(anyString(), anyBoolean());
+    }
+
+    @Test
+    void testValidateCreatePixKey_BloomFilterFalsePositive() {
+        PixKey pixKey = validPixKey();
+        Account account = pixKey.getAccount();
+
+        when(pixKeyBloomFilter.isReady()).thenReturn(true);
+        when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
+
+        validate.validateCreatePixKey(pixKey, AccountLocation.of(account));
+
+        verify(pixKeyBloomFilter).recordFalsePositive();
+    }
+
+    @Test
+    void testValidateCreatePixKey_KeyIndexMissSkipsQuery() {
+        PixKey pixKey = validPixKey();
+        Account account = pixKey.getAccount();
+
+        when(pixKeyIndex.isReady()).thenReturn(true);
+        when(pixKeyIndex.contains(pixKey.getKeyValue())).thenReturn(false);
+
+        validate.validateCreatePixKey(pixKey, AccountLocation.of(account));
+
+        verify(pixKeyRepository, never()).existsByKeyValueAndActive(anyString(), anyBoolean());
+        verify(pixKeyBloomFilter, never()).mightContain(anyString());
+    }
+
+    @Test
+    void testValidateCreatePixKey_KeyIndexHitConfirmedInDatabase() {
+        PixKey pixKey = validPixKey();
+        Account account = pixKey.getAccount();
+
+        when(pixKeyIndex.isReady()).thenReturn(true);
+        when(pixKeyIndex.contains(pixKey.getKeyValue())).thenReturn(true);
+        when(pixKeyRepository.existsByKeyValueAndActive(pixKey.getKeyValue(), true)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Pix key value already registered", exception.getMessage());
     }
@@ -816,9 +898,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_PhoneFormatWithouPlusSignal() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("celular");
         pixKey.setKeyValue("5511976110609");
@@ -826,7 +906,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid phone number", exception.getMessage());
     }
@@ -834,9 +914,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_PhoneNumberSmallerThenExpected() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("celular");
         pixKey.setKeyValue("+551198765");
@@ -844,7 +922,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid phone number", exception.getMessage());
     }
@@ -852,9 +930,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_PhoneNumberBiggerThenExpected() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("celular");
         pixKey.setKeyValue("551198765432101");
@@ -862,7 +938,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid phone number", exception.getMessage());
     }
@@ -870,9 +946,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_EmailWithoutArroba() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("email");
         pixKey.setKeyValue("teste.teste.com");
@@ -880,7 +954,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid email format", exception.getMessage());
     }
@@ -888,9 +962,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_EmailWithoutDotPlusText() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("email");
         pixKey.setKeyValue("teste@teste");
@@ -898,7 +970,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid email format", exception.getMessage());
     }
@@ -906,9 +978,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_IndividualPerson_CannotRegisterCNPJKey() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("cnpj");
         pixKey.setKeyValue("06947283000160");
@@ -916,7 +986,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Individuals cannot register a CNPJ key", exception.getMessage());
     }
@@ -924,9 +994,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_IndividualPerson_CPFDifferentThenUserCPF() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("cpf");
         pixKey.setKeyValue("36216995898");
@@ -934,32 +1002,52 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("The CPF key must be the same as the account's CPF", exception.getMessage());
     }
 
     @Test
-    void testValidateCreatePixKey_IndividualPerson_CPFKeyAlreadyExist() {
+    void testValidatePixKey_IndividualPerson_CPFKeyAlreadyExist() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
-        pixKeys.add(pixKey);
-
-        when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
+        account.setHasCpfKey(true);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validatePixKey(pixKey, account, user));
 
         assertEquals("CPF key already registered for this account", exception.getMessage());
     }
 
+    @Test
+    void testValidateCreatePixKey_FromLocation_CPFDifferentThenUserCPF() {
+        PixKey pixKey = validPixKey();
+        AccountLocation location = AccountLocation.of(pixKey.getAccount());
+
+        pixKey.setKeyType("cpf");
+        pixKey.setKeyValue("36216995898");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                validate.validateCreatePixKey(pixKey, location));
+
+        assertEquals("The CPF key must be the same as the account's CPF", exception.getMessage());
+    }
+
+    @Test
+    void testValidateCreatePixKey_FromLocation_LeavesAccountCountersToReservation() {
+        PixKey pixKey = validPixKey();
+        Account account = pixKey.getAccount();
+        account.setHasCpfKey(true);
+        account.setActiveKeyCount(Validate.INDIVIDUAL_PIX_KEY_LIMIT);
+
+        assertDoesNotThrow(() -> validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
+    }
+
     @Test
     void testValidateCreatePixKey_IndividualPerson_CPFKeyAlphanumeric() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -970,7 +1058,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("The CPF must only contain numbers", exception.getMessage());
     }
@@ -978,7 +1066,6 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_IndividualPerson_CPFKeySmaller() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -989,7 +1076,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid CPF", exception.getMessage());
     }
@@ -997,7 +1084,6 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_IndividualPerson_CPFKeyBigger() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -1008,7 +1094,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid CPF", exception.getMessage());
     }
@@ -1016,9 +1102,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_LegalPerson_CannotRegisterCPFKey() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("cpf");
         pixKey.setKeyValue("48428781850");
@@ -1026,7 +1110,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Legal entities cannot register a CPF key", exception.getMessage());
     }
@@ -1034,9 +1118,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_LegalPerson_CNPJDifferentThenUser() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("cnpj");
         pixKey.setKeyValue("09188942000110");
@@ -1044,27 +1126,24 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("The CNPJ key must be the same as the account's CNPJ", exception.getMessage());
     }
 
     @Test
-    void testValidateCreatePixKey_LegalPerson_CNPJKeyAlreadyExist() {
+    void testValidatePixKey_LegalPerson_CNPJKeyAlreadyExist() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
         pixKey.setKeyType("cnpj");
         pixKey.setKeyValue("06947283000160");
 
-        pixKeys.add(pixKey);
-
-        when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
+        account.setHasCnpjKey(true);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validatePixKey(pixKey, account, user));
 
         assertEquals("CNPJ key already registered for this account", exception.getMessage());
     }
@@ -1072,7 +1151,6 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_LegalPerson_CNPJKeyAlphanumeric() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -1084,7 +1162,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("The CNPJ must only contain numbers", exception.getMessage());
     }
@@ -1092,7 +1170,6 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_LegalPerson_CNPJKeySmaller() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -1104,7 +1181,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid CNPJ", exception.getMessage());
     }
@@ -1112,7 +1189,6 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_LegalPerson_CNPJKeyBigger() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
@@ -1124,7 +1200,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid CNPJ", exception.getMessage());
     }
@@ -1132,9 +1208,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_InvalidRandomKey() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("aleatorio");
         pixKey.setKeyValue("550e8400-e29b-41d4-a716-44665544000G");
@@ -1142,7 +1216,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid random key", exception.getMessage());
     }
@@ -1150,9 +1224,7 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_RandomKeySmallerThen36Char() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("aleatorio");
         pixKey.setKeyValue("550e8400-e29b-41d4-a716-44665544000");
@@ -1160,16 +1232,14 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
         assertEquals("Invalid random key", exception.getMessage());
     }
 
     @Test
     void testValidateCreatePixKey_RandomKeyBiggerThen36Char() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("aleatorio");
         pixKey.setKeyValue("550e8400-e29b-41d4-a716-446655440007a");
@@ -1177,7 +1247,7 @@ public class ValidateTest {
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid random key", exception.getMessage());
     }
@@ -1185,60 +1255,42 @@ public class ValidateTest {
     @Test
     void testValidateCreatePixKey_InvalidKeyType() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
-        User user = account.getUser();
 
         pixKey.setKeyType("invalid");
 
         when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validateCreatePixKey(pixKey, AccountLocation.of(account)));
 
         assertEquals("Invalid key type", exception.getMessage());
     }
 
     @Test
-    void testCreatePixKey_IndividualPersonLimitExceeded() {
+    void testValidatePixKey_IndividualPersonLimitExceeded() {
         PixKey pixKey = validPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
-        for (int i = 0; i < 5; i++) {
-            PixKey existingPixKey = validPixKey();
-            existingPixKey.setKeyType("aleatorio");
-            existingPixKey.setKeyValue("3700040e-eb6a-44d9-8361-406f622d26a5");
-            pixKeys.add(existingPixKey);
-        }
-
-        when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
+        account.setActiveKeyCount(5);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validatePixKey(pixKey, account, user));
 
         assertEquals("Limit of 5 keys per account for Individuals exceeded", exception.getMessage());
     }
 
     @Test
-    void testCreatePixKey_LegalPersonLimitExceeded() {
+    void testValidatePixKey_LegalPersonLimitExceeded() {
         PixKey pixKey = validLegalPixKey();
-        List<PixKey> pixKeys = new ArrayList<>();
         Account account = pixKey.getAccount();
         User user = account.getUser();
 
-        for (int i = 0; i < 20; i++) {
-            PixKey existingPixKey = validLegalPixKey();
-            existingPixKey.setKeyType("aleatorio");
-            existingPixKey.setKeyValue("3700040e-eb6a-44d9-8361-406f622d26a5");
-            pixKeys.add(existingPixKey);
-        }
-
-        when(pixKeyRepository.existsByKeyValueAndActive(anyString(), anyBoolean())).thenReturn(false);
+        account.setActiveKeyCount(20);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                validate.validateCreatePixKey(pixKey, pixKeys, account, user));
+                validate.validatePixKey(pixKey, account, user));
 
         assertEquals("Limit of 20 keys per account for Legal Entities exceeded", exception.getMessage());
     }